@@ -1,19 +1,39 @@
 package project.controller;
 
+import javafx.application.Platform;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
 import javafx.scene.text.Text;
 import project.database.ComparisonChartData;
 import project.database.Database;
+import project.database.ProgressTracker;
+import project.model.dijkstra.StepLog;
 
+import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class Controller
 {
-	private final Database db = new Database();
+	private Database db = new Database();
 	private final ComparisonChartData cd = new ComparisonChartData();
+	// every load and save runs here, one at a time, so they never overlap
+	private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "database-io");
+		thread.setDaemon(true);
+		return thread;
+	});
+	// a load parses its segment files here, one per core at a time
+	private final ExecutorService parseExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+			runnable -> {
+				Thread thread = new Thread(runnable, "database-parse");
+				thread.setDaemon(true);
+				return thread;
+			});
 
 	public Controller() throws NoSuchAlgorithmException
 	{
@@ -105,16 +125,60 @@ public class Controller
 		db.setInactive(edge);
 	}
 
-	public Map<String[], String[]> runDijkstra()
+	public StepLog runDijkstra()
 	{
 		return db.runDijkstra();
 	}
 
+	public List<Circle> getShortestPath(Circle target)
+	{
+		return db.getShortestPath(target);
+	}
+
+	public Map<Circle, Circle> getShortestPathTree()
+	{
+		return db.getShortestPathTree();
+	}
+
 	public void clear()
 	{
 		db.clear();
 	}
 
+	public void save()
+	{
+		db.save();
+	}
+
+	public void load()
+	{
+		db.load();
+	}
+
+	// must be called from the FX thread; progress is reported from the I/O thread
+	public CompletableFuture<Void> saveAsync(ProgressTracker.Listener listener)
+	{
+		return db.saveAsync(Paths.get(""), ioExecutor, Platform::runLater, listener);
+	}
+
+	// The graph is loaded into a new Database off the FX thread and swapped in on the FX thread once complete.
+	// Cancelling the returned future cancels the load.
+	public CompletableFuture<Void> loadAsync(ProgressTracker.Listener listener)
+	{
+		CompletableFuture<Database> loading = Database.loadAsync(Paths.get(""), ioExecutor, parseExecutor,
+				listener);
+		CompletableFuture<Void> loaded = loading.thenAcceptAsync(database -> db = database, Platform::runLater);
+
+		loaded.whenComplete((result, e) -> {
+			if (loaded.isCancelled())
+			{
+				loading.cancel(true);
+			}
+		});
+
+		return loaded;
+	}
+
 	public void saveEdges()
 	{
 		db.saveEdges();
@@ -175,6 +239,11 @@ public class Controller
 		return cd.getComparisons(numberOfNodes);
 	}
 
+	public int[] getPointToPointComparisons(int numberOfNodes)
+	{
+		return cd.getPointToPointComparisons(numberOfNodes);
+	}
+
 	public int getExistingNodeNum() {
 		return db.getNodes().size();
 	}
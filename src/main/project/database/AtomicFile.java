@@ -0,0 +1,66 @@
+package project.database;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Replaces a file without ever leaving it half written. The content goes to a temporary file in the same directory,
+// which is forced to disk and then renamed over the target, so a crash leaves either the old or the new file.
+public final class AtomicFile
+{
+	private AtomicFile()
+	{
+	}
+
+	@FunctionalInterface
+	public interface Content
+	{
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	public static void write(Path target, Content content) throws IOException
+	{
+		Path directory = target.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(directory, target.getFileName().toString() + ".", ".tmp");
+
+		try
+		{
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+			{
+				// the content may close its stream, the channel has to stay open until it has been forced
+				OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel))
+				{
+					@Override
+					public void close() throws IOException
+					{
+						flush();
+					}
+				};
+
+				content.writeTo(out);
+				out.flush();
+				channel.force(true);
+			}
+
+			try
+			{
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package project.database;
 
+import project.model.CsrGraph;
+import project.model.dijkstra.BidirectionalDijkstra;
 import project.model.dijkstra.Dijkstra;
 import project.model.dijkstra.Edge;
 import project.model.dijkstra.Node;
@@ -49,16 +51,51 @@ public class ComparisonChartData
 				edges.add(new Edge(nodes.get(i), nodes.get(j), rand.nextInt(100) + 1));
 			}
 		}
+
+		dijkstra.rebuildIndex();
 	}
 
 	// Runs Dijkstra's algorithm on a specified number of nodes and returns the total number of comparisons
 	public int getComparisons(int numberOfNodes)
 	{
 		dijkstra.updateNodes(nodes);
-		dijkstra.run(nodes.get(rand.nextInt(numberOfNodes)));
+		dijkstra.solve(nodes.get(rand.nextInt(numberOfNodes)));
 		return dijkstra.getComparisons();
 	}
 
+	// Runs the same query between two distinct random nodes with the one-way search, which stops once the target
+	// is settled, and with the bidirectional search, and returns both numbers of comparisons in that order
+	public int[] getPointToPointComparisons(int numberOfNodes)
+	{
+		if (numberOfNodes < 2)
+		{
+			throw new IllegalArgumentException("getPointToPointComparisons: Number of nodes must be greater than 1");
+		}
+
+		int sourceIndex = rand.nextInt(numberOfNodes);
+		int targetIndex = rand.nextInt(numberOfNodes - 1);
+		if (targetIndex >= sourceIndex)
+		{
+			targetIndex++;
+		}
+
+		Node source = nodes.get(sourceIndex);
+		Node target = nodes.get(targetIndex);
+
+		dijkstra.updateNodes(nodes);
+		dijkstra.run(source, target);
+
+		BidirectionalDijkstra bidirectionalDijkstra = new BidirectionalDijkstra(snapshot());
+		bidirectionalDijkstra.run(source.getId(), target.getId());
+
+		return new int[]{dijkstra.getComparisons(), bidirectionalDijkstra.getComparisons()};
+	}
+
+	public CsrGraph snapshot()
+	{
+		return CsrGraph.of(nodes, edges);
+	}
+
 	public List<Node> getNodes()
 	{
 		return nodes;
@@ -1,7 +1,8 @@
 package project.database;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.JSONWriter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -10,34 +11,91 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import project.exception.EdgeNotFoundException;
 import project.exception.NodeNotFoundException;
+import project.model.CsrGraph;
+import project.model.IdentityLinkedList;
+import project.model.ch.ContractionHierarchy;
+import project.model.ch.ContractionHierarchyBuilder;
 import project.model.dijkstra.Dijkstra;
 import project.model.dijkstra.Edge;
+import project.model.dijkstra.IncrementalShortestPaths;
+import project.model.dijkstra.LandmarkHeuristic;
 import project.model.dijkstra.Node;
+import project.model.dijkstra.StepLog;
 import project.model.dijkstra.po.EdgePO;
 import project.model.dijkstra.po.NodePO;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 public class Database {
+    private static final long DEFAULT_CACHE_BUDGET = 64L * 1024 * 1024;
+    private static final String NODE_FILE = "node_database.json";
+    private static final String EDGE_FILE = "edge_database.json";
+    private static final String LEGACY_JOURNAL_FILE = "journal_database.jsonl";
+    private static final String SEGMENT_DIRECTORY = "database_segments";
+
     private final Dijkstra dijkstra;
     private final Map<Integer, Set<Integer>> adjacencyMap;
-    private final LinkedList<Node> nodes;
+    // node id -> edges touching the node, in the order they were added
+    private final Map<Integer, List<Edge>> incidentEdges;
+    // removal is by identity and takes constant time; Node.equals compares names, and most nodes share the default one
+    private final IdentityLinkedList<Node> nodes;
     private final LinkedList<Circle> nodeShapes;
     private Node startNode = null;
-    private final LinkedList<Edge> edges;
+    // kept up to date by every edit once a shortest path has been asked for, null until then
+    private IncrementalShortestPaths shortestPaths = null;
+    private final IdentityLinkedList<Edge> edges;
     private final LinkedList<Line> edgeShapes;
+    // shape, label and id lookups for the UI callbacks, kept in step with nodes and edges
+    private final Map<Circle, Node> nodesByShape;
+    private final Map<Text, Node> nodesByLabel;
+    private final Map<Integer, Node> nodesById;
+    private final Map<Line, Edge> edgesByShape;
+    private final Map<Text, Edge> edgesByLabel;
+    private final Map<Integer, Edge> edgesById;
+    // bumped by every change to the graph, so results computed for an older version are never reused
+    private long version = 0;
+    private final ResultCache<RunResult> resultCache;
+    // edits not yet appended to the journal, and whether they are being recorded (not while replaying)
+    private final List<JSONObject> pendingEntries = new ArrayList<>();
+    private boolean journaling = true;
+    // directory whose snapshot plus journal matches the graph as of the last save or load, null when none does
+    private Path journalDirectory = null;
+    private int journalLength = 0;
+    // node id -> position as last written, drags are not reported to the database so they are found on save
+    private final Map<Integer, double[]> savedPositions = new HashMap<>();
+    // segments changed since they were last written; after a clear every segment on disk is out of date
+    private final Set<Integer> dirtyNodeSegments = new HashSet<>();
+    private final Set<Integer> dirtyEdgeSegments = new HashSet<>();
+    private boolean allSegmentsDirty = true;
+
     public Database() {
-        nodes = new LinkedList<>();
-        edges = new LinkedList<>();
+        this(DEFAULT_CACHE_BUDGET);
+    }
+
+    // the budget is the estimated number of bytes the cached run results may take up
+    public Database(long cacheBudget) {
+        resultCache = new ResultCache<>(cacheBudget, RunResult::estimateSize);
+        nodes = new IdentityLinkedList<>();
+        edges = new IdentityLinkedList<>();
         nodeShapes = new LinkedList<>();
         edgeShapes = new LinkedList<>();
         adjacencyMap = new HashMap<>();
+        incidentEdges = new HashMap<>();
+        nodesByShape = new IdentityHashMap<>();
+        nodesByLabel = new IdentityHashMap<>();
+        nodesById = new HashMap<>();
+        edgesByShape = new IdentityHashMap<>();
+        edgesByLabel = new IdentityHashMap<>();
+        edgesById = new HashMap<>();
         dijkstra = new Dijkstra(nodes, edges);
     }
 
@@ -56,6 +114,7 @@ public class Database {
     public void setStartNode(Circle nodeShape) {
         try {
             startNode = findNode(nodeShape);
+            shortestPaths = null;
         } catch (NodeNotFoundException e) {
             e.printStackTrace();
         }
@@ -102,10 +161,10 @@ public class Database {
             Node node = findNode(nodeShape);
             Map<Circle, Line> adjacentNodesAndEdges = new HashMap<>();
 
-            for (Edge edge : edges) {
-                if (edge.getNode1().equals(node)) {
+            for (Edge edge : getIncidentEdges(node)) {
+                if (edge.getNode1() == node) {
                     adjacentNodesAndEdges.put(edge.getNode2().getShape(), edge.getShape());
-                } else if (edge.getNode2().equals(node)) {
+                } else {
                     adjacentNodesAndEdges.put(edge.getNode1().getShape(), edge.getShape());
                 }
             }
@@ -123,8 +182,12 @@ public class Database {
             label = new Text("Node");
         }
 
+        Node newNode = new Node(label, node);
         nodeShapes.add(node);
-        nodes.add(new Node(label, node));
+        nodes.add(newNode);
+        indexNode(newNode);
+        version++;
+        record(nodeEntry("ADD_NODE", newNode));
     }
 
     public void addEdge(Circle nodeShape1, Circle nodeShape2, Text label, Line edge) {
@@ -132,11 +195,17 @@ public class Database {
             Node node1 = findNode(nodeShape1);
             Node node2 = findNode(nodeShape2);
 
+            Edge newEdge = new Edge(node1, node2, label, edge);
             edgeShapes.add(edge);
-            edges.add(new Edge(node1, node2, label, edge));
-
-            adjacencyMap.computeIfAbsent(node1.getId(), k -> new HashSet<>()).add(node2.getId());
-            adjacencyMap.computeIfAbsent(node2.getId(), k -> new HashSet<>()).add(node1.getId());
+            edges.add(newEdge);
+            indexEdge(newEdge);
+            dijkstra.addToIndex(newEdge);
+            version++;
+            record(edgeEntry("ADD_EDGE", newEdge));
+
+            if (shortestPaths != null) {
+                shortestPaths.edgeAdded(newEdge);
+            }
         } catch (NodeNotFoundException e) {
             e.printStackTrace();
         }
@@ -147,6 +216,15 @@ public class Database {
             Node node = findNode(nodeShape);
             nodes.remove(node);
             deleteConnectedEdges(node);
+            unindexNode(node);
+            version++;
+            record(new JSONObject().fluentPut("op", "REMOVE_NODE").fluentPut("id", node.getId()));
+
+            if (shortestPaths != null) {
+                shortestPaths.nodeRemoved(node);
+            }
+
+            dijkstra.removeFromIndex(node);
         } catch (NodeNotFoundException e) {
             e.printStackTrace();
         }
@@ -156,6 +234,14 @@ public class Database {
         try {
             Edge edge = findEdge(edgeShape);
             edges.remove(edge);
+            unindexEdge(edge);
+            dijkstra.removeFromIndex(edge);
+            version++;
+            record(new JSONObject().fluentPut("op", "REMOVE_EDGE").fluentPut("id", edge.getId()));
+
+            if (shortestPaths != null) {
+                shortestPaths.edgeRemoved(edge);
+            }
         } catch (EdgeNotFoundException e) {
             e.printStackTrace();
         }
@@ -182,22 +268,20 @@ public class Database {
     }
 
     public Node findNode(Circle nodeShape) throws NodeNotFoundException {
-        for (Node node : nodes) {
-            if (nodeShape == node.getShape()) {
-                return node;
-            }
+        Node node = nodesByShape.get(nodeShape);
+        if (node == null) {
+            throw new NodeNotFoundException();
         }
-        throw new NodeNotFoundException();
+        return node;
     }
 
     private Node findNode(int nodeId) throws NodeNotFoundException {
-        for (Node node : nodes) {
-            if (node.getId() == nodeId) {
-                return node;
-            }
+        Node node = nodesById.get(nodeId);
+        if (node == null) {
+            throw new NodeNotFoundException();
         }
 
-        throw new NodeNotFoundException();
+        return node;
     }
 
     public String getNodeName(int nodeId) {
@@ -219,23 +303,126 @@ public class Database {
     }
 
     private Edge findEdge(Line edgeShape) throws EdgeNotFoundException {
-        for (Edge edge : edges) {
-            if (edgeShape == edge.getShape()) {
-                return edge;
+        Edge edge = edgesByShape.get(edgeShape);
+        if (edge == null) {
+            throw new EdgeNotFoundException();
+        }
+
+        return edge;
+    }
+
+    private void indexNode(Node node) {
+        markNode(node);
+        nodesByShape.put(node.getShape(), node);
+        nodesByLabel.put(node.getLabel(), node);
+        nodesById.put(node.getId(), node);
+    }
+
+    // the node's edges have to be unindexed first
+    private void unindexNode(Node node) {
+        markNode(node);
+        nodesByShape.remove(node.getShape());
+        nodesByLabel.remove(node.getLabel());
+        nodesById.remove(node.getId());
+        incidentEdges.remove(node.getId());
+        adjacencyMap.remove(node.getId());
+    }
+
+    private void indexEdge(Edge edge) {
+        markEdge(edge);
+        int node1Id = edge.getNode1().getId();
+        int node2Id = edge.getNode2().getId();
+
+        edgesByShape.put(edge.getShape(), edge);
+        edgesByLabel.put(edge.getLabel(), edge);
+        edgesById.put(edge.getId(), edge);
+        incidentEdges.computeIfAbsent(node1Id, k -> new ArrayList<>()).add(edge);
+        if (node2Id != node1Id) {
+            incidentEdges.computeIfAbsent(node2Id, k -> new ArrayList<>()).add(edge);
+        }
+        adjacencyMap.computeIfAbsent(node1Id, k -> new HashSet<>()).add(node2Id);
+        adjacencyMap.computeIfAbsent(node2Id, k -> new HashSet<>()).add(node1Id);
+    }
+
+    private void unindexEdge(Edge edge) {
+        markEdge(edge);
+        Node node1 = edge.getNode1();
+        Node node2 = edge.getNode2();
+
+        edgesByShape.remove(edge.getShape());
+        edgesByLabel.remove(edge.getLabel());
+        edgesById.remove(edge.getId());
+        removeIncidentEdge(node1.getId(), edge);
+        removeIncidentEdge(node2.getId(), edge);
+
+        // the nodes stay adjacent as long as another edge still joins them
+        for (Edge other : getIncidentEdges(node1)) {
+            if (other.getNode1() == node2 || other.getNode2() == node2) {
+                return;
             }
         }
 
-        throw new EdgeNotFoundException();
+        removeAdjacency(node1.getId(), node2.getId());
+        removeAdjacency(node2.getId(), node1.getId());
+    }
+
+    private void removeIncidentEdge(int nodeId, Edge edge) {
+        List<Edge> nodeEdges = incidentEdges.get(nodeId);
+        if (nodeEdges == null) {
+            return;
+        }
+
+        nodeEdges.removeIf(other -> other == edge);
+        if (nodeEdges.isEmpty()) {
+            incidentEdges.remove(nodeId);
+        }
+    }
+
+    private void removeAdjacency(int nodeId, int adjacentId) {
+        Set<Integer> adjacentNodes = adjacencyMap.get(nodeId);
+        if (adjacentNodes == null) {
+            return;
+        }
+
+        adjacentNodes.remove(adjacentId);
+        if (adjacentNodes.isEmpty()) {
+            adjacencyMap.remove(nodeId);
+        }
+    }
+
+    private List<Edge> getIncidentEdges(Node node) {
+        return incidentEdges.getOrDefault(node.getId(), Collections.emptyList());
+    }
+
+    private void markNode(Node node) {
+        dirtyNodeSegments.add(SegmentStore.segmentOf(node.getId()));
+    }
+
+    private void markEdge(Edge edge) {
+        dirtyEdgeSegments.add(SegmentStore.segmentOf(edge.getId()));
+    }
+
+    private void clearNodeIndex() {
+        nodesByShape.clear();
+        nodesByLabel.clear();
+        nodesById.clear();
+    }
+
+    private void clearEdgeIndex() {
+        edgesByShape.clear();
+        edgesByLabel.clear();
+        edgesById.clear();
+        incidentEdges.clear();
+        adjacencyMap.clear();
     }
 
     public List<Line> getAttachedEdges(Circle nodeShape) {
         try {
+            Node node = findNode(nodeShape);
             List<Line> attachedEdges = new LinkedList<>();
 
-            for (Edge edge : edges) {
-                if (edge.getNodes().contains(findNode(nodeShape))) {
-                    attachedEdges.add(edge.getShape());
-                }
+            for (Edge edge : getIncidentEdges(node)) {
+                attachedEdges.add(edge.getShape());
             }
 
             return attachedEdges;
@@ -263,33 +450,165 @@ public class Database {
             newText = "Node";
         }
 
-        for (Edge edge : edges) {
-            if (label == edge.getLabel()) {
-                edge.setWeight(newText);
-                return;
+        Edge edge = edgesByLabel.get(label);
+        if (edge != null) {
+            int oldWeight = edge.getWeight();
+            edge.setWeight(newText);
+            dijkstra.updateIndex(edge);
+            edgeWeightChanged(edge, oldWeight);
+            version++;
+            markEdge(edge);
+            record(weightEntry(edge));
+            return;
+        }
+
+        Node node = nodesByLabel.get(label);
+        if (node != null) {
+            node.setName(newText);
+            version++;
+            markNode(node);
+            record(nameEntry(node));
+        }
+    }
+
+    // proportional to the node's degree, every edge is removed from the list and the indexes in constant time
+    private void deleteConnectedEdges(Node node) {
+        for (Edge edge : new ArrayList<>(getIncidentEdges(node))) {
+            edges.remove(edge);
+            unindexEdge(edge);
+        }
+    }
+
+    // The step map is only built once the caller asks the log for it, and the whole run is reused
+    // until the graph changes
+    public StepLog runDijkstra() {
+        if (startNode != null) {
+            RunResult result = resultCache.get(version, startNode.getId());
+
+            if (result == null) {
+                dijkstra.updateNodes(nodes);
+                StepLog steps = dijkstra.record(startNode);
+                result = new RunResult(steps, dijkstra.getLastResult());
+
+                resultCache.removeOlderThan(version);
+                resultCache.put(version, startNode.getId(), result);
             }
+
+            return result.getSteps();
         }
 
+        return new StepLog(Collections.emptyList());
+    }
+
+    // Circles on the shortest path from the start node to the target, empty when there is none
+    public List<Circle> getShortestPath(Circle targetShape) {
+        try {
+            Node target = findNode(targetShape);
+
+            if (startNode == null) {
+                return Collections.emptyList();
+            }
+
+            List<Circle> path = new ArrayList<>();
+
+            for (int nodeId : getShortestPaths().getPath(target.getId())) {
+                path.add(findNode(nodeId).getShape());
+            }
+
+            return path;
+        } catch (NodeNotFoundException e) {
+            e.printStackTrace();
+            return Collections.emptyList();
+        }
+    }
+
+    // Maps each reached node's circle to the circle of the node before it on its shortest path from the start node
+    public Map<Circle, Circle> getShortestPathTree() {
+        if (startNode == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<Circle, Circle> tree = new LinkedHashMap<>();
+
         for (Node node : nodes) {
-            if (label == node.getLabel()) {
-                node.setName(newText);
-                return;
+            int predecessorId = getShortestPaths().getPredecessorId(node.getId());
+
+            try {
+                if (predecessorId != -1) {
+                    tree.put(node.getShape(), findNode(predecessorId).getShape());
+                }
+            } catch (NodeNotFoundException e) {
+                e.printStackTrace();
             }
         }
+
+        return tree;
     }
 
-    private void deleteConnectedEdges(Node node) {
-        edges.removeIf(edge -> node == edge.getNode1() || node == edge.getNode2());
+    // L values and predecessors from the start node, updated edit by edit instead of rerunning Dijkstra
+    private IncrementalShortestPaths getShortestPaths() {
+        if (shortestPaths == null) {
+            shortestPaths = new IncrementalShortestPaths(dijkstra, startNode);
+        }
+
+        return shortestPaths;
     }
 
-    public Map<String[], String[]> runDijkstra() {
-        if (startNode != null) {
-            dijkstra.updateNodes(nodes);
+    private void edgeWeightChanged(Edge edge, int oldWeight) {
+        if (shortestPaths != null) {
+            shortestPaths.edgeWeightChanged(edge, oldWeight);
+        }
+    }
 
-            return dijkstra.run(startNode);
+    public long getVersion() {
+        return version;
+    }
+
+    public ResultCache<RunResult> getResultCache() {
+        return resultCache;
+    }
+
+    public CsrGraph snapshot() {
+        return CsrGraph.of(nodes, edges);
+    }
+
+    // loads the hierarchy saved next to the JSON files, rebuilding it when the graph has changed since
+    public ContractionHierarchy getContractionHierarchy() {
+        CsrGraph graph = snapshot();
+        Path path = Paths.get("ch_database.bin");
+        try {
+            if (Files.exists(path)) {
+                ContractionHierarchy hierarchy = ContractionHierarchy.load(path);
+                if (hierarchy.getFingerprint() == graph.fingerprint()) {
+                    return hierarchy;
+                }
+            }
+            ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph).build();
+            hierarchy.save(path);
+            return hierarchy;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        return Collections.emptyMap();
+    // loads the landmark tables saved next to the JSON files, recomputing them when the graph or landmark count changed
+    public LandmarkHeuristic getLandmarkHeuristic(int numOfLandmarks) {
+        CsrGraph graph = snapshot();
+        Path path = Paths.get("landmark_database.bin");
+        try {
+            if (Files.exists(path)) {
+                LandmarkHeuristic heuristic = LandmarkHeuristic.load(path);
+                if (heuristic.getFingerprint() == graph.fingerprint()
+                        && heuristic.getNumOfLandmarks() == Math.min(numOfLandmarks, graph.size())) {
+                    return heuristic;
+                }
+            }
+            LandmarkHeuristic heuristic = LandmarkHeuristic.build(graph, numOfLandmarks);
+            heuristic.save(path);
+            return heuristic;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     public void clear() {
@@ -297,108 +616,677 @@ public class Database {
         edges.clear();
         nodeShapes.clear();
         edgeShapes.clear();
+        clearNodeIndex();
+        clearEdgeIndex();
         startNode = null;
+        shortestPaths = null;
+        dijkstra.rebuildIndex();
+        version++;
+        resultCache.clear();
+        savedPositions.clear();
+        allSegmentsDirty = true;
+        record(new JSONObject().fluentPut("op", "CLEAR"));
     }
 
     public void saveNodes() {
-        List<NodePO> nodeList = nodes.stream()
-                .map(node -> new NodePO(node.getId(), node.getName(), node.getShape().getCenterX(), node.getShape().getCenterY()))
-                .collect(Collectors.toList());
-        JSONArray jsonArray = new JSONArray(new ArrayList<>(nodeList));
-        BufferedWriter out;
-        try {
-            out = new BufferedWriter(new FileWriter("node_database.json"));
-            String s = JSON.toJSONString(jsonArray, SerializerFeature.IgnoreNonFieldGetter);
-            out.write(s);
-            out.close();
+        saveNodes(Paths.get(NODE_FILE));
+    }
+
+    // written one node at a time, so no copy of the whole array is built in memory, and swapped in by a rename
+    public void saveNodes(Path path) {
+        try {
+            AtomicFile.write(path, out -> {
+                try (JSONWriter writer = new JSONWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                    writer.config(SerializerFeature.IgnoreNonFieldGetter, true);
+                    writer.startArray();
+                    for (Node node : nodes) {
+                        writer.writeValue(new NodePO(node.getId(), node.getName(), node.getShape().getCenterX(), node.getShape().getCenterY()));
+                    }
+                    writer.endArray();
+                }
+            });
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
     public void saveEdges() {
+        saveEdges(Paths.get(EDGE_FILE));
+    }
 
-        List<EdgePO> edgePOList = edges.stream()
-                .map(edge -> new EdgePO(edge.getId(), edge.getNode1().getId(), edge.getNode2().getId(), edge.getWeight()))
-                .collect(Collectors.toList());
-
-        JSONArray jsonArray = new JSONArray(new ArrayList<>(edgePOList));
-        BufferedWriter out;
+    public void saveEdges(Path path) {
         try {
-            out = new BufferedWriter(new FileWriter("edge_database.json"));
-            out.write(jsonArray.toString());
-            out.close();
+            AtomicFile.write(path, out -> {
+                try (JSONWriter writer = new JSONWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                    writer.startArray();
+                    for (Edge edge : edges) {
+                        writer.writeValue(new EdgePO(edge.getId(), edge.getNode1().getId(), edge.getNode2().getId(), edge.getWeight()));
+                    }
+                    writer.endArray();
+                }
+            });
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
     public void loadNodes() {
+        loadNodes(Paths.get(NODE_FILE));
+    }
+
+    // each node is added as soon as it has been read, without holding the file or a list of POs in memory
+    public void loadNodes(Path path) {
         nodes.clear();
+        clearNodeIndex();
+        journalDirectory = null;
+        version++;
         try {
-            String s = Files.readString(Paths.get("node_database.json"));
-            List<NodePO> nodeList = JSON.parseArray(s, NodePO.class);
-            for (NodePO nodePO : nodeList) {
-                Circle nodeShape = new Circle(nodePO.getxCoord(), nodePO.getyCoord(), 50);
-                nodeShape.setFill(Color.LIGHTBLUE);
+            readNodes(path, ProgressTracker.none());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-                nodeShape.setOnMouseEntered(event -> {
-                    nodeShape.setStroke(Color.GRAY);
-                    nodeShape.setStrokeWidth(1);
-                });
+    private void readNodes(Path path, ProgressTracker tracker) throws IOException {
+        try (JSONReader reader = new JSONReader(tracker.open(path))) {
+            reader.startArray();
+            while (reader.hasNext()) {
+                Node node = createNode(reader.readObject(NodePO.class));
+                nodes.add(node);
+                indexNode(node);
+                tracker.recordRead();
+            }
+            reader.endArray();
+        }
+    }
 
-                nodeShape.setOnMouseExited(event -> {
-                    nodeShape.setStroke(null);
-                });
+    public void loadEdges() {
+        loadEdges(Paths.get(EDGE_FILE));
+    }
 
-                Text label = new Text(nodePO.getName());
-                label.setFont(Font.font(24));
-                label.setMouseTransparent(true);
+    public void loadEdges(Path path) {
+        edges.clear();
+        clearEdgeIndex();
+        journalDirectory = null;
+        try {
+            readEdges(path, ProgressTracker.none());
 
-                label.xProperty().bind(nodeShape.centerXProperty().subtract(nodeShape.getRadius() / 2));
-                label.yProperty().bind(nodeShape.centerYProperty().add(nodeShape.getRadius() / 8));
+            dijkstra.rebuildIndex();
+            shortestPaths = null;
+            version++;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-                nodes.add(new Node(nodePO.getId(), label, nodeShape));
+    private void readEdges(Path path, ProgressTracker tracker) throws IOException {
+        try (JSONReader reader = new JSONReader(tracker.open(path))) {
+            reader.startArray();
+            while (reader.hasNext()) {
+                Edge edge = createEdge(reader.readObject(EdgePO.class));
+                edges.add(edge);
+                indexEdge(edge);
+                tracker.recordRead();
             }
+            reader.endArray();
+        }
+    }
+
+    public void saveGraph(Path path) {
+        try {
+            GraphFile.write(path, nodes, edges);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    public void loadEdges() {
-        edges.clear();
+    // Replaces the nodes and edges with the ones in a binary graph file written by saveGraph. Neither is used by load
+    // and save, which keep to the segments and their journal; both are entry points for callers that manage graph
+    // files themselves, and loadGraph leaves the graph without a directory to save its journal to.
+    public void loadGraph(Path path) {
         try {
-            String s = Files.readString(Paths.get("edge_database.json"));
-            List<EdgePO> edgePOS = JSON.parseArray(s, EdgePO.class);
-            for (EdgePO edgePO : edgePOS) {
-                Node edgeNode1 = new Node();
-                Node edgeNode2 = new Node();
-                try {
-                    edgeNode1 = findNode(edgePO.getFrontNodeId());
-                    edgeNode2 = findNode(edgePO.getEndNodeId());
-                } catch (NodeNotFoundException e) {
-                    e.printStackTrace();
-                }
-                Line edgeShape = new Line();
-                edgeShape.setStrokeWidth(3);
-                edgeShape.setStroke(Color.GRAY);
+            GraphFile file = GraphFile.map(path);
+            journalDirectory = null;
+
+            nodes.clear();
+            clearNodeIndex();
+            for (int i = 0; i < file.getNumOfNodes(); i++) {
+                Node node = createNode(file.getNode(i));
+                nodes.add(node);
+                indexNode(node);
+            }
+
+            edges.clear();
+            clearEdgeIndex();
+            for (int i = 0; i < file.getNumOfEdges(); i++) {
+                Edge edge = createEdge(file.getEdge(i));
+                edges.add(edge);
+                indexEdge(edge);
+            }
+
+            dijkstra.rebuildIndex();
+            shortestPaths = null;
+            version++;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Replaces the nodes and edges with the ones in a node and an edge file, parsed in parallel by ParallelJsonLoader.
+    // Edges are only created once every node is in nodesById, so each end node is a single lookup. This is an entry
+    // point for callers with their own JSON files and executor: load reads segments, which it parses in parallel
+    // itself, and only reads node and edge files once to migrate an old directory.
+    public void loadJson(Path nodeFile, Path edgeFile, ExecutorService executor, int parallelism) {
+        try {
+            ParallelJsonLoader.Columns columns = new ParallelJsonLoader(executor, parallelism).load(nodeFile, edgeFile);
+            journalDirectory = null;
+            allSegmentsDirty = true;
+
+            nodes.clear();
+            clearNodeIndex();
+            for (int i = 0; i < columns.getNumOfNodes(); i++) {
+                Node node = createNode(columns.getNode(i));
+                nodes.add(node);
+                indexNode(node);
+            }
+
+            edges.clear();
+            clearEdgeIndex();
+            for (int i = 0; i < columns.getNumOfEdges(); i++) {
+                Edge edge = createEdge(columns.getEdge(i));
+                edges.add(edge);
+                indexEdge(edge);
+            }
+
+            dijkstra.rebuildIndex();
+            shortestPaths = null;
+            version++;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void save() {
+        save(Paths.get(""));
+    }
 
-                edgeShape.startXProperty().bind(edgeNode1.getShape().centerXProperty());
-                edgeShape.startYProperty().bind(edgeNode1.getShape().centerYProperty());
-                edgeShape.endXProperty().bind(edgeNode2.getShape().centerXProperty());
-                edgeShape.endYProperty().bind(edgeNode2.getShape().centerYProperty());
+    // Appends the edits made since the last save to the journal in the directory. Segments are only written when the
+    // directory does not hold this graph's segments yet, or when the journal has grown larger than the graph; in the
+    // latter case the journal is written first, and the new segments only replace the old ones once all of them are
+    // on disk, see SegmentStore.
+    public void save(Path directory) {
+        write(prepareSave(directory), ProgressTracker.none());
+    }
 
-                Text label = new Text(String.valueOf(edgePO.getWeight()));
-                label.setFont(Font.font(24));
+    // Writes the segments that changed since they were last written, or all of them when the directory holds another
+    // graph, as a new generation that starts with an empty journal.
+    public void checkpoint(Path directory) {
+        recordMoves();
+        List<JSONObject> entries = new ArrayList<>(pendingEntries);
+        pendingEntries.clear();
 
-                label.xProperty().bind(edgeShape.startXProperty().add(edgeShape.endXProperty()).divide(2));
-                label.yProperty().bind(edgeShape.startYProperty().add(edgeShape.endYProperty()).divide(2));
+        write(prepareCheckpoint(directory, entries), ProgressTracker.none());
+    }
+
+    // Works out what the save has to write on the calling thread, which has to be the one editing the graph, and
+    // writes it on ioExecutor, so the graph can be edited while the files are being written. Progress counts records.
+    // Cancelling the future stops the save after the current file, up to the point where the new generation of
+    // segments replaces the old one, which always runs to the end. A failed or cancelled save makes the next one
+    // rewrite every segment, which is done on modelExecutor.
+    public CompletableFuture<Void> saveAsync(Path directory, Executor ioExecutor, Executor modelExecutor,
+                                             ProgressTracker.Listener listener) {
+        SavePlan plan = prepareSave(directory);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        ProgressTracker tracker = new ProgressTracker(plan.size(), listener, future::isCancelled);
+
+        ioExecutor.execute(() -> {
+            try {
+                plan.write(tracker);
+                future.complete(null);
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
 
-                edges.add(new Edge(edgePO.getId(), edgeNode1, edgeNode2, label, edgeShape));
+        future.whenCompleteAsync((result, e) -> {
+            if (e != null) {
+                saveFailed();
             }
+        }, modelExecutor);
+
+        return future;
+    }
+
+    private void write(SavePlan plan, ProgressTracker tracker) {
+        try {
+            plan.write(tracker);
         } catch (IOException e) {
+            saveFailed();
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            saveFailed();
+            throw e;
+        }
+    }
+
+    // nothing on disk can be trusted to match the graph any more
+    private void saveFailed() {
+        journalDirectory = null;
+        allSegmentsDirty = true;
+    }
+
+    private SavePlan prepareSave(Path directory) {
+        recordMoves();
+
+        if (allSegmentsDirty || !directory.equals(journalDirectory)) {
+            return prepareCheckpoint(directory, new ArrayList<>());
+        }
+
+        List<JSONObject> entries = new ArrayList<>(pendingEntries);
+        journalLength += entries.size();
+        pendingEntries.clear();
+
+        if (journalLength > nodes.size() + edges.size()) {
+            return prepareCheckpoint(directory, entries);
+        }
+
+        return new SavePlan(directory, entries, null, null, false);
+    }
+
+    private SavePlan prepareCheckpoint(Path directory, List<JSONObject> entries) {
+        boolean full = allSegmentsDirty || !directory.equals(journalDirectory);
+
+        if (full) {
+            // the journal in the directory, if any, belongs to another graph
+            entries.clear();
+            dirtyNodeSegments.clear();
+            dirtyEdgeSegments.clear();
+            nodes.forEach(this::markNode);
+            edges.forEach(this::markEdge);
+        }
+
+        Map<Integer, List<NodePO>> nodeSegments = new HashMap<>();
+        for (int segment : dirtyNodeSegments) {
+            nodeSegments.put(segment, nodeSegment(segment));
+        }
+
+        Map<Integer, List<EdgePO>> edgeSegments = new HashMap<>();
+        for (int segment : dirtyEdgeSegments) {
+            edgeSegments.put(segment, edgeSegment(segment));
+        }
+
+        synced(directory, 0);
+        dirtyNodeSegments.clear();
+        dirtyEdgeSegments.clear();
+        allSegmentsDirty = false;
+
+        return new SavePlan(directory, entries, nodeSegments, edgeSegments, full);
+    }
+
+    // looked up by id, so building a segment does not depend on the size of the graph
+    private List<NodePO> nodeSegment(int segment) {
+        List<NodePO> segmentNodes = new ArrayList<>();
+
+        for (int id = segment * SegmentStore.SEGMENT_SIZE; id < (segment + 1) * SegmentStore.SEGMENT_SIZE; id++) {
+            Node node = nodesById.get(id);
+            if (node != null) {
+                segmentNodes.add(new NodePO(node.getId(), node.getName(), node.getShape().getCenterX(), node.getShape().getCenterY()));
+            }
+        }
+
+        return segmentNodes;
+    }
+
+    private List<EdgePO> edgeSegment(int segment) {
+        List<EdgePO> segmentEdges = new ArrayList<>();
+
+        for (int id = segment * SegmentStore.SEGMENT_SIZE; id < (segment + 1) * SegmentStore.SEGMENT_SIZE; id++) {
+            Edge edge = edgesById.get(id);
+            if (edge != null) {
+                segmentEdges.add(new EdgePO(edge.getId(), edge.getNode1().getId(), edge.getNode2().getId(), edge.getWeight()));
+            }
         }
+
+        return segmentEdges;
+    }
+
+    public void load() {
+        load(Paths.get(""));
+    }
+
+    public void load(Path directory) {
+        load(directory, ProgressTracker.none(), Runnable::run);
+    }
+
+    public static CompletableFuture<Database> loadAsync(Path directory, Executor ioExecutor,
+                                                        ProgressTracker.Listener listener) {
+        return loadAsync(directory, ioExecutor, Runnable::run, listener);
+    }
+
+    // Loads into a new Database on ioExecutor, leaving this one untouched; the caller swaps it in on the thread that
+    // edits the graph. The segment files are parsed on parseExecutor, several at a time when it has the threads for
+    // it, while ioExecutor builds the graph from them. Progress counts bytes read, and cancelling the future stops
+    // the load after the current record.
+    public static CompletableFuture<Database> loadAsync(Path directory, Executor ioExecutor, Executor parseExecutor,
+                                                        ProgressTracker.Listener listener) {
+        CompletableFuture<Database> future = new CompletableFuture<>();
+
+        ioExecutor.execute(() -> {
+            try {
+                Database database = new Database();
+                database.load(directory, new ProgressTracker(loadSize(directory), listener, future::isCancelled),
+                        parseExecutor);
+                future.complete(database);
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    // bytes load will read, not counting the journal
+    private static long loadSize(Path directory) throws IOException {
+        SegmentStore store = new SegmentStore(directory.resolve(SEGMENT_DIRECTORY));
+        if (store.exists()) {
+            return store.size();
+        }
+
+        long size = 0;
+        for (Path path : Arrays.asList(directory.resolve(NODE_FILE), directory.resolve(EDGE_FILE))) {
+            if (Files.exists(path)) {
+                size += Files.size(path);
+            }
+        }
+        return size;
+    }
+
+    // Loads the current generation of segments in the directory and replays its journal on top of them. A directory
+    // saved before segments were introduced is read from its node and edge files and journal_database.jsonl instead,
+    // and is rewritten as segments on the next save.
+    private void load(Path directory, ProgressTracker tracker, Executor parseExecutor) {
+        SegmentStore store = new SegmentStore(directory.resolve(SEGMENT_DIRECTORY));
+        journaling = false;
+        try {
+            clear();
+
+            if (store.exists()) {
+                store.read(nodePO -> {
+                    Node node = createNode(nodePO);
+                    nodes.add(node);
+                    indexNode(node);
+                }, edgePO -> {
+                    Edge edge = createEdge(edgePO);
+                    edges.add(edge);
+                    indexEdge(edge);
+                }, tracker, parseExecutor);
+                allSegmentsDirty = false;
+            } else {
+                if (Files.exists(directory.resolve(NODE_FILE))) {
+                    readNodes(directory.resolve(NODE_FILE), tracker);
+                }
+                if (Files.exists(directory.resolve(EDGE_FILE))) {
+                    readEdges(directory.resolve(EDGE_FILE), tracker);
+                }
+            }
+
+            // only what the journal changes is out of date on disk
+            dirtyNodeSegments.clear();
+            dirtyEdgeSegments.clear();
+
+            Path journal = store.exists() ? store.getJournal() : directory.resolve(LEGACY_JOURNAL_FILE);
+            List<JSONObject> entries = new Journal(journal).read();
+            for (JSONObject entry : entries) {
+                replay(entry);
+            }
+
+            dijkstra.rebuildIndex();
+            shortestPaths = null;
+            version++;
+            synced(directory, entries.size());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            journaling = true;
+        }
+    }
+
+    // Everything one save writes, captured up front: journal entries to append and, for a checkpoint, the segments
+    // to replace. Nothing in here refers back to the live graph.
+    private static class SavePlan {
+        private final Path directory;
+        private final List<JSONObject> entries;
+        private final Map<Integer, List<NodePO>> nodeSegments;
+        private final Map<Integer, List<EdgePO>> edgeSegments;
+        private final boolean full;
+
+        SavePlan(Path directory, List<JSONObject> entries, Map<Integer, List<NodePO>> nodeSegments,
+                 Map<Integer, List<EdgePO>> edgeSegments, boolean full) {
+            this.directory = directory;
+            this.entries = entries;
+            this.nodeSegments = nodeSegments;
+            this.edgeSegments = edgeSegments;
+            this.full = full;
+        }
+
+        // number of records written
+        long size() {
+            long size = entries.size();
+
+            if (nodeSegments != null) {
+                for (List<NodePO> segment : nodeSegments.values()) {
+                    size += segment.size();
+                }
+                for (List<EdgePO> segment : edgeSegments.values()) {
+                    size += segment.size();
+                }
+            }
+
+            return size;
+        }
+
+        void write(ProgressTracker tracker) throws IOException {
+            tracker.checkCancelled();
+            SegmentStore store = new SegmentStore(directory.resolve(SEGMENT_DIRECTORY));
+
+            // into the current generation's journal, so the edits survive a crash before the new generation is in place
+            if (!entries.isEmpty()) {
+                new Journal(store.getJournal()).append(entries);
+            }
+            tracker.recordsWritten(entries.size());
+
+            if (nodeSegments == null) {
+                return;
+            }
+
+            SegmentStore.Generation generation = store.next(full);
+            for (Map.Entry<Integer, List<NodePO>> segment : nodeSegments.entrySet()) {
+                generation.writeNodes(segment.getKey(), segment.getValue());
+                tracker.recordsWritten(segment.getValue().size());
+            }
+            for (Map.Entry<Integer, List<EdgePO>> segment : edgeSegments.entrySet()) {
+                generation.writeEdges(segment.getKey(), segment.getValue());
+                tracker.recordsWritten(segment.getValue().size());
+            }
+
+            // not cancellable from here on: the old generation's files are deleted once the new one is in place
+            generation.commit();
+        }
+    }
+
+    private void synced(Path directory, int length) {
+        journalDirectory = directory;
+        journalLength = length;
+        pendingEntries.clear();
+        savedPositions.clear();
+
+        for (Node node : nodes) {
+            if (node.getShape() != null) {
+                savedPositions.put(node.getId(), new double[]{node.getShape().getCenterX(), node.getShape().getCenterY()});
+            }
+        }
+    }
+
+    // A journal only holds edits made after its snapshot was written, so an entry adding an id the graph already has
+    // belongs to some other graph and is not applied over the node or edge that has the id
+    private void replay(JSONObject entry) {
+        int id = entry.getIntValue("id");
+        Node node = nodesById.get(id);
+        Edge edge = edgesById.get(id);
+
+        switch (entry.getString("op")) {
+            case "ADD_NODE":
+                if (node != null) {
+                    throw new IllegalStateException("Journal adds node " + id + ", which already exists: " + entry);
+                }
+                node = createNode(new NodePO(id, entry.getString("name"), entry.getDoubleValue("x"), entry.getDoubleValue("y")));
+                nodes.add(node);
+                indexNode(node);
+                break;
+            case "ADD_EDGE":
+                if (edge != null) {
+                    throw new IllegalStateException("Journal adds edge " + id + ", which already exists: " + entry);
+                }
+                if (nodesById.containsKey(entry.getIntValue("front")) && nodesById.containsKey(entry.getIntValue("end"))) {
+                    edge = createEdge(new EdgePO(id, entry.getIntValue("front"), entry.getIntValue("end"), entry.getIntValue("weight")));
+                    edges.add(edge);
+                    indexEdge(edge);
+                }
+                break;
+            case "REMOVE_NODE":
+                if (node != null) {
+                    nodes.remove(node);
+                    deleteConnectedEdges(node);
+                    unindexNode(node);
+                }
+                break;
+            case "REMOVE_EDGE":
+                if (edge != null) {
+                    edges.remove(edge);
+                    unindexEdge(edge);
+                }
+                break;
+            case "SET_WEIGHT":
+                if (edge != null) {
+                    edge.setWeight(entry.getString("weight"));
+                    markEdge(edge);
+                }
+                break;
+            case "SET_NAME":
+                if (node != null) {
+                    node.setName(entry.getString("name"));
+                    markNode(node);
+                }
+                break;
+            case "MOVE":
+                if (node != null) {
+                    node.getShape().setCenterX(entry.getDoubleValue("x"));
+                    node.getShape().setCenterY(entry.getDoubleValue("y"));
+                    markNode(node);
+                }
+                break;
+            case "CLEAR":
+                clear();
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal entry: " + entry);
+        }
+    }
+
+    private void record(JSONObject entry) {
+        if (journaling) {
+            pendingEntries.add(entry);
+        }
+    }
+
+    // node positions that changed since they were last written
+    private void recordMoves() {
+        for (Node node : nodes) {
+            if (node.getShape() == null) {
+                continue;
+            }
+
+            double x = node.getShape().getCenterX();
+            double y = node.getShape().getCenterY();
+            double[] saved = savedPositions.get(node.getId());
+
+            if (saved == null || saved[0] != x || saved[1] != y) {
+                markNode(node);
+                record(new JSONObject().fluentPut("op", "MOVE").fluentPut("id", node.getId()).fluentPut("x", x).fluentPut("y", y));
+                savedPositions.put(node.getId(), new double[]{x, y});
+            }
+        }
+    }
+
+    private JSONObject nodeEntry(String op, Node node) {
+        JSONObject entry = new JSONObject().fluentPut("op", op).fluentPut("id", node.getId()).fluentPut("name", node.getName());
+        if (node.getShape() != null) {
+            entry.fluentPut("x", node.getShape().getCenterX()).fluentPut("y", node.getShape().getCenterY());
+        }
+        return entry;
+    }
+
+    private JSONObject edgeEntry(String op, Edge edge) {
+        return new JSONObject().fluentPut("op", op).fluentPut("id", edge.getId()).fluentPut("front", edge.getNode1().getId())
+                .fluentPut("end", edge.getNode2().getId()).fluentPut("weight", edge.getWeight());
+    }
+
+    private JSONObject weightEntry(Edge edge) {
+        return new JSONObject().fluentPut("op", "SET_WEIGHT").fluentPut("id", edge.getId()).fluentPut("weight", edge.getWeight());
+    }
+
+    private JSONObject nameEntry(Node node) {
+        return new JSONObject().fluentPut("op", "SET_NAME").fluentPut("id", node.getId()).fluentPut("name", node.getName());
+    }
+
+    private Node createNode(NodePO nodePO) {
+        Circle nodeShape = new Circle(nodePO.getxCoord(), nodePO.getyCoord(), 50);
+        nodeShape.setFill(Color.LIGHTBLUE);
+
+        nodeShape.setOnMouseEntered(event -> {
+            nodeShape.setStroke(Color.GRAY);
+            nodeShape.setStrokeWidth(1);
+        });
+
+        nodeShape.setOnMouseExited(event -> {
+            nodeShape.setStroke(null);
+        });
+
+        Text label = new Text(nodePO.getName());
+        label.setFont(Font.font(24));
+        label.setMouseTransparent(true);
+
+        label.xProperty().bind(nodeShape.centerXProperty().subtract(nodeShape.getRadius() / 2));
+        label.yProperty().bind(nodeShape.centerYProperty().add(nodeShape.getRadius() / 8));
+
+        return new Node(nodePO.getId(), label, nodeShape);
+    }
+
+    private Edge createEdge(EdgePO edgePO) {
+        Node edgeNode1 = new Node();
+        Node edgeNode2 = new Node();
+        try {
+            edgeNode1 = findNode(edgePO.getFrontNodeId());
+            edgeNode2 = findNode(edgePO.getEndNodeId());
+        } catch (NodeNotFoundException e) {
+            e.printStackTrace();
+        }
+        Line edgeShape = new Line();
+        edgeShape.setStrokeWidth(3);
+        edgeShape.setStroke(Color.GRAY);
+
+        edgeShape.startXProperty().bind(edgeNode1.getShape().centerXProperty());
+        edgeShape.startYProperty().bind(edgeNode1.getShape().centerYProperty());
+        edgeShape.endXProperty().bind(edgeNode2.getShape().centerXProperty());
+        edgeShape.endYProperty().bind(edgeNode2.getShape().centerYProperty());
+
+        Text label = new Text(String.valueOf(edgePO.getWeight()));
+        label.setFont(Font.font(24));
+
+        label.xProperty().bind(edgeShape.startXProperty().add(edgeShape.endXProperty()).divide(2));
+        label.yProperty().bind(edgeShape.startYProperty().add(edgeShape.endYProperty()).divide(2));
+
+        return new Edge(edgePO.getId(), edgeNode1, edgeNode2, label, edgeShape);
     }
 
     public Map<Circle, Text> getNodesAndLabels() {
@@ -444,7 +1332,13 @@ public class Database {
     public void updateEdgeWeight(Line source, String text) {
         try {
             Edge edge = findEdge(source);
+            int oldWeight = edge.getWeight();
             edge.setWeight(text);
+            dijkstra.updateIndex(edge);
+            edgeWeightChanged(edge, oldWeight);
+            version++;
+            markEdge(edge);
+            record(weightEntry(edge));
         } catch (EdgeNotFoundException | NumberFormatException e) {
             e.printStackTrace();
         }
@@ -454,6 +1348,9 @@ public class Database {
         try {
             Node node = findNode(source);
             node.setName(text);
+            version++;
+            markNode(node);
+            record(nameEntry(node));
         } catch (NodeNotFoundException e) {
             e.printStackTrace();
         }
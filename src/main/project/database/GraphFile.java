@@ -0,0 +1,215 @@
+package project.database;
+
+import project.model.CsrGraph;
+import project.model.NodeIndex;
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+import project.model.dijkstra.po.EdgePO;
+import project.model.dijkstra.po.NodePO;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+
+// Binary graph file, read through a memory mapping instead of being parsed. All tables are stored column by column
+// so each column can be copied out in one bulk read:
+//
+//   header       magic, version, node count n, edge count m, string pool size in bytes
+//   node table   int id[n], int nameOffset[n + 1], double x[n], double y[n]
+//   string pool  UTF-8 names, the name of node i runs from nameOffset[i] to nameOffset[i + 1]
+//   edge table   int id[m], int frontNodeId[m], int endNodeId[m], int weight[m]
+//
+// JSON stays the interchange format; this one is meant for fast startup on large graphs. The application does not
+// read or write it on its own, see Database.loadGraph.
+public class GraphFile
+{
+	private static final int MAGIC = 0x47524631;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+	private final ByteBuffer buffer;
+	private final int numOfNodes;
+	private final int numOfEdges;
+
+	// byte positions of the columns
+	private final int nodeIds;
+	private final int nameOffsets;
+	private final int xCoords;
+	private final int yCoords;
+	private final int pool;
+	private final int edgeIds;
+	private final int frontNodeIds;
+	private final int endNodeIds;
+	private final int weights;
+
+	private GraphFile(ByteBuffer buffer, int numOfNodes, int numOfEdges, int poolSize)
+	{
+		this.buffer = buffer;
+		this.numOfNodes = numOfNodes;
+		this.numOfEdges = numOfEdges;
+
+		nodeIds = HEADER_SIZE;
+		nameOffsets = nodeIds + numOfNodes * Integer.BYTES;
+		xCoords = nameOffsets + (numOfNodes + 1) * Integer.BYTES;
+		yCoords = xCoords + numOfNodes * Double.BYTES;
+		pool = yCoords + numOfNodes * Double.BYTES;
+		edgeIds = pool + poolSize;
+		frontNodeIds = edgeIds + numOfEdges * Integer.BYTES;
+		endNodeIds = frontNodeIds + numOfEdges * Integer.BYTES;
+		weights = endNodeIds + numOfEdges * Integer.BYTES;
+
+		if (weights + (long) numOfEdges * Integer.BYTES != buffer.capacity())
+		{
+			throw new IllegalArgumentException("Graph file is truncated or has trailing data.");
+		}
+	}
+
+	// replaces the file atomically, see AtomicFile
+	public static void write(Path path, Collection<Node> nodes, Collection<Edge> edges) throws IOException
+	{
+		byte[][] names = new byte[nodes.size()][];
+		int i = 0;
+
+		for (Node node : nodes)
+		{
+			names[i++] = node.getName().getBytes(StandardCharsets.UTF_8);
+		}
+
+		AtomicFile.write(path, stream -> {
+			DataOutputStream out = new DataOutputStream(stream);
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(nodes.size());
+			out.writeInt(edges.size());
+			out.writeInt(Arrays.stream(names).mapToInt(name -> name.length).sum());
+
+			for (Node node : nodes)
+			{
+				out.writeInt(node.getId());
+			}
+
+			int offset = 0;
+			for (byte[] name : names)
+			{
+				out.writeInt(offset);
+				offset += name.length;
+			}
+			out.writeInt(offset);
+
+			for (Node node : nodes)
+			{
+				out.writeDouble(node.getShape() == null ? Double.NaN : node.getShape().getCenterX());
+			}
+			for (Node node : nodes)
+			{
+				out.writeDouble(node.getShape() == null ? Double.NaN : node.getShape().getCenterY());
+			}
+
+			for (byte[] name : names)
+			{
+				out.write(name);
+			}
+
+			for (Edge edge : edges)
+			{
+				out.writeInt(edge.getId());
+			}
+			for (Edge edge : edges)
+			{
+				out.writeInt(edge.getNode1().getId());
+			}
+			for (Edge edge : edges)
+			{
+				out.writeInt(edge.getNode2().getId());
+			}
+			for (Edge edge : edges)
+			{
+				out.writeInt(edge.getWeight());
+			}
+
+			out.flush();
+		});
+	}
+
+	// maps the whole file read-only; the mapping stays valid after the channel is closed
+	public static GraphFile map(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			if (channel.size() > Integer.MAX_VALUE)
+			{
+				throw new IOException("Graph file is too large to map: " + path);
+			}
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+			{
+				throw new IOException("Not a graph file: " + path);
+			}
+
+			try
+			{
+				return new GraphFile(buffer, buffer.getInt(8), buffer.getInt(12), buffer.getInt(16));
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IOException(e.getMessage() + " " + path, e);
+			}
+		}
+	}
+
+	public int getNumOfNodes()
+	{
+		return numOfNodes;
+	}
+
+	public int getNumOfEdges()
+	{
+		return numOfEdges;
+	}
+
+	public NodePO getNode(int i)
+	{
+		int from = buffer.getInt(nameOffsets + i * Integer.BYTES);
+		int to = buffer.getInt(nameOffsets + (i + 1) * Integer.BYTES);
+		byte[] name = new byte[to - from];
+		buffer.get(pool + from, name);
+
+		return new NodePO(buffer.getInt(nodeIds + i * Integer.BYTES), new String(name, StandardCharsets.UTF_8),
+				buffer.getDouble(xCoords + i * Double.BYTES), buffer.getDouble(yCoords + i * Double.BYTES));
+	}
+
+	public EdgePO getEdge(int i)
+	{
+		return new EdgePO(buffer.getInt(edgeIds + i * Integer.BYTES), buffer.getInt(frontNodeIds + i * Integer.BYTES),
+				buffer.getInt(endNodeIds + i * Integer.BYTES), buffer.getInt(weights + i * Integer.BYTES));
+	}
+
+	// builds the solver's view straight from the columns, without creating any nodes, edges or strings
+	public CsrGraph toCsrGraph()
+	{
+		double[] xs = new double[numOfNodes];
+		double[] ys = new double[numOfNodes];
+		buffer.slice(xCoords, numOfNodes * Double.BYTES).asDoubleBuffer().get(xs);
+		buffer.slice(yCoords, numOfNodes * Double.BYTES).asDoubleBuffer().get(ys);
+
+		return CsrGraph.of(new NodeIndex(readInts(nodeIds, numOfNodes)), readInts(frontNodeIds, numOfEdges),
+				readInts(endNodeIds, numOfEdges), readInts(weights, numOfEdges), xs, ys);
+	}
+
+	private int[] readInts(int position, int count)
+	{
+		int[] values = new int[count];
+		buffer.slice(position, count * Integer.BYTES).asIntBuffer().get(values);
+		return values;
+	}
+}
@@ -0,0 +1,152 @@
+package project.database;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Append-only log of graph edits, one JSON object per line. Entries are forced to disk before append returns.
+// A crash during an append can only cut off the last line, which read leaves out since it never ended in a newline,
+// and the next append cuts off before writing, so new entries never run on from it.
+public class Journal
+{
+	private final Path path;
+
+	public Journal(Path path)
+	{
+		this.path = path;
+	}
+
+	public Path getPath()
+	{
+		return path;
+	}
+
+	public void append(List<JSONObject> entries) throws IOException
+	{
+		if (entries.isEmpty())
+		{
+			return;
+		}
+
+		StringBuilder lines = new StringBuilder();
+		for (JSONObject entry : entries)
+		{
+			lines.append(JSON.toJSONString(entry)).append('\n');
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE))
+		{
+			long end = endOfLastLine(channel);
+			channel.truncate(end);
+			channel.position(end);
+
+			ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+			while (bytes.hasRemaining())
+			{
+				channel.write(bytes);
+			}
+
+			channel.force(false);
+		}
+	}
+
+	// entries in the order they were appended, empty when there is no journal
+	public List<JSONObject> read() throws IOException
+	{
+		List<JSONObject> entries = new ArrayList<>();
+
+		if (!Files.exists(path))
+		{
+			return entries;
+		}
+
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(path))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				lines.add(line);
+			}
+		}
+
+		if (!lines.isEmpty() && !endsWithNewline())
+		{
+			lines.remove(lines.size() - 1);
+		}
+
+		for (String line : lines)
+		{
+			if (!line.isEmpty())
+			{
+				entries.add(JSON.parseObject(line));
+			}
+		}
+
+		return entries;
+	}
+
+	// called once the entries are part of a snapshot
+	public void reset() throws IOException
+	{
+		Files.deleteIfExists(path);
+	}
+
+	// position just past the last newline, 0 when there is none; anything after it is a torn entry
+	private static long endOfLastLine(FileChannel channel) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		long end = channel.size();
+
+		while (end > 0)
+		{
+			long start = Math.max(0, end - buffer.capacity());
+			buffer.clear().limit((int) (end - start));
+			while (buffer.hasRemaining())
+			{
+				if (channel.read(buffer, start + buffer.position()) == -1)
+				{
+					break;
+				}
+			}
+
+			for (int i = (int) (end - start) - 1; i >= 0; i--)
+			{
+				if (buffer.get(i) == '\n')
+				{
+					return start + i + 1;
+				}
+			}
+
+			end = start;
+		}
+
+		return 0;
+	}
+
+	private boolean endsWithNewline() throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			if (channel.size() == 0)
+			{
+				return true;
+			}
+
+			ByteBuffer last = ByteBuffer.allocate(1);
+			channel.read(last, channel.size() - 1);
+			return last.get(0) == '\n';
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package project.database;
+
+import com.alibaba.fastjson.JSON;
+import project.model.CsrGraph;
+import project.model.NodeIndex;
+import project.model.dijkstra.po.EdgePO;
+import project.model.dijkstra.po.NodePO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Parses node_database.json and edge_database.json on several threads at once. Both files are read and split into
+// their top-level objects concurrently; the objects are then parsed in chunks, the chunks of both files together,
+// straight into columns sized from the object counts. Nothing here resolves edges to nodes, so the caller can do that
+// once every node exists. Only Database.loadJson uses it; the application loads segments, see Database.load.
+public class ParallelJsonLoader
+{
+	// fewer objects than this are not worth a task of their own
+	static final int DEFAULT_MIN_CHUNK_SIZE = 256;
+
+	private final ExecutorService executor;
+	private final int parallelism;
+	private final int minChunkSize;
+
+	public ParallelJsonLoader(ExecutorService executor, int parallelism)
+	{
+		this(executor, parallelism, DEFAULT_MIN_CHUNK_SIZE);
+	}
+
+	public ParallelJsonLoader(ExecutorService executor, int parallelism, int minChunkSize)
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be greater than 0.");
+		}
+		if (minChunkSize < 1)
+		{
+			throw new IllegalArgumentException("Chunk size must be greater than 0.");
+		}
+
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.minChunkSize = minChunkSize;
+	}
+
+	public Columns load(Path nodeFile, Path edgeFile) throws IOException
+	{
+		Source nodeSource = new Source(nodeFile);
+		Source edgeSource = new Source(edgeFile);
+		invokeAll(Arrays.asList(nodeSource, edgeSource));
+
+		Columns columns = new Columns(nodeSource.size(), edgeSource.size());
+		List<Callable<Void>> tasks = new ArrayList<>();
+
+		addChunks(tasks, nodeSource.size(), (from, to) -> {
+			for (int i = from; i < to; i++)
+			{
+				NodePO node = nodeSource.parse(i, NodePO.class);
+				columns.nodeIds[i] = node.getId();
+				columns.names[i] = node.getName();
+				columns.xCoords[i] = node.getxCoord();
+				columns.yCoords[i] = node.getyCoord();
+			}
+		});
+		addChunks(tasks, edgeSource.size(), (from, to) -> {
+			for (int i = from; i < to; i++)
+			{
+				EdgePO edge = edgeSource.parse(i, EdgePO.class);
+				columns.edgeIds[i] = edge.getId();
+				columns.frontNodeIds[i] = edge.getFrontNodeId();
+				columns.endNodeIds[i] = edge.getEndNodeId();
+				columns.weights[i] = edge.getWeight();
+			}
+		});
+
+		invokeAll(tasks);
+		return columns;
+	}
+
+	@FunctionalInterface
+	private interface Chunk
+	{
+		void parse(int from, int to);
+	}
+
+	// contiguous ranges of about count / parallelism objects, none smaller than minChunkSize
+	private void addChunks(List<Callable<Void>> tasks, int count, Chunk chunk)
+	{
+		int numOfChunks = Math.max(1, Math.min(parallelism, count / minChunkSize));
+
+		for (int c = 0; c < numOfChunks; c++)
+		{
+			int from = (int) ((long) count * c / numOfChunks);
+			int to = (int) ((long) count * (c + 1) / numOfChunks);
+
+			tasks.add(() -> {
+				chunk.parse(from, to);
+				return null;
+			});
+		}
+	}
+
+	private <T> void invokeAll(List<? extends Callable<T>> tasks) throws IOException
+	{
+		try
+		{
+			for (Future<T> future : executor.invokeAll(tasks))
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Parallel load was interrupted.", e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof IOException)
+			{
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	// One file, read whole and split into the byte ranges of its top-level objects. Splitting only has to track
+	// strings and nesting, which is far cheaper than parsing; bytes of multi-byte UTF-8 characters never look like
+	// quotes or brackets, so the file does not need decoding first.
+	private static class Source implements Callable<Void>
+	{
+		private final Path path;
+		private byte[] bytes;
+		private int[] starts = new int[0];
+		private int[] ends = new int[0];
+		private int size = 0;
+
+		Source(Path path)
+		{
+			this.path = path;
+		}
+
+		int size()
+		{
+			return size;
+		}
+
+		<T> T parse(int i, Class<T> type)
+		{
+			return JSON.parseObject(bytes, starts[i], ends[i] - starts[i], StandardCharsets.UTF_8, type);
+		}
+
+		@Override
+		public Void call() throws IOException
+		{
+			bytes = Files.readAllBytes(path);
+			starts = new int[Math.max(16, bytes.length / 64)];
+			ends = new int[starts.length];
+
+			int i = skipWhitespace(0);
+			if (i == bytes.length || bytes[i] != '[')
+			{
+				throw new IOException("Not a JSON array: " + path);
+			}
+
+			int depth = 1;
+			boolean inString = false;
+			int start = -1;
+
+			for (i++; i < bytes.length && depth > 0; i++)
+			{
+				byte b = bytes[i];
+
+				if (inString)
+				{
+					if (b == '\\')
+					{
+						i++;
+					}
+					else if (b == '"')
+					{
+						inString = false;
+					}
+					continue;
+				}
+
+				if (b == '"')
+				{
+					inString = true;
+				}
+				else if (b == '{' || b == '[')
+				{
+					if (depth == 1)
+					{
+						start = i;
+					}
+					depth++;
+				}
+				else if (b == '}' || b == ']')
+				{
+					depth--;
+					if (depth == 1)
+					{
+						add(start, i + 1);
+					}
+				}
+			}
+
+			if (depth > 0 || inString || skipWhitespace(i) != bytes.length)
+			{
+				throw new IOException("Malformed JSON array: " + path);
+			}
+
+			return null;
+		}
+
+		private void add(int start, int end)
+		{
+			if (size == starts.length)
+			{
+				starts = Arrays.copyOf(starts, size * 2);
+				ends = Arrays.copyOf(ends, size * 2);
+			}
+
+			starts[size] = start;
+			ends[size] = end;
+			size++;
+		}
+
+		private int skipWhitespace(int i)
+		{
+			while (i < bytes.length && Character.isWhitespace(bytes[i]))
+			{
+				i++;
+			}
+			return i;
+		}
+	}
+
+	// The parsed files as primitive columns, in file order. Names are the only objects kept per node.
+	public static class Columns
+	{
+		private final int[] nodeIds;
+		private final String[] names;
+		private final double[] xCoords;
+		private final double[] yCoords;
+		private final int[] edgeIds;
+		private final int[] frontNodeIds;
+		private final int[] endNodeIds;
+		private final int[] weights;
+
+		private Columns(int numOfNodes, int numOfEdges)
+		{
+			nodeIds = new int[numOfNodes];
+			names = new String[numOfNodes];
+			xCoords = new double[numOfNodes];
+			yCoords = new double[numOfNodes];
+			edgeIds = new int[numOfEdges];
+			frontNodeIds = new int[numOfEdges];
+			endNodeIds = new int[numOfEdges];
+			weights = new int[numOfEdges];
+		}
+
+		public int getNumOfNodes()
+		{
+			return nodeIds.length;
+		}
+
+		public int getNumOfEdges()
+		{
+			return edgeIds.length;
+		}
+
+		public NodePO getNode(int i)
+		{
+			return new NodePO(nodeIds[i], names[i], xCoords[i], yCoords[i]);
+		}
+
+		public EdgePO getEdge(int i)
+		{
+			return new EdgePO(edgeIds[i], frontNodeIds[i], endNodeIds[i], weights[i]);
+		}
+
+		// the solver's view, built from the columns without creating any nodes or edges
+		public CsrGraph toCsrGraph()
+		{
+			return CsrGraph.of(new NodeIndex(nodeIds), frontNodeIds, endNodeIds, weights, xCoords, yCoords);
+		}
+	}
+}
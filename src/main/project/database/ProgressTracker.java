@@ -0,0 +1,107 @@
+package project.database;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+// Progress of one load or save: bytes read for a load, records written for a save. Every record checks for
+// cancellation, so a cancelled task stops within one record instead of running to the end.
+public class ProgressTracker
+{
+	@FunctionalInterface
+	public interface Listener
+	{
+		// called from the threads doing the I/O, a load can report from several at once
+		void progress(long processed, long total);
+	}
+
+	private final long total;
+	private final Listener listener;
+	private final BooleanSupplier cancelled;
+	private final AtomicLong processed = new AtomicLong();
+
+	public ProgressTracker(long total, Listener listener, BooleanSupplier cancelled)
+	{
+		this.total = total;
+		this.listener = listener;
+		this.cancelled = cancelled;
+	}
+
+	// for loads and saves nobody follows; each gets its own, as the count is kept in the tracker
+	public static ProgressTracker none()
+	{
+		return new ProgressTracker(0, (processed, total) -> {}, () -> false);
+	}
+
+	public long getTotal()
+	{
+		return total;
+	}
+
+	public long getProcessed()
+	{
+		return processed.get();
+	}
+
+	// reader that adds every byte taken from the file to the processed count
+	Reader open(Path path) throws IOException
+	{
+		InputStream in = new FilterInputStream(Files.newInputStream(path))
+		{
+			@Override
+			public int read() throws IOException
+			{
+				int b = super.read();
+				if (b != -1)
+				{
+					processed.incrementAndGet();
+				}
+				return b;
+			}
+
+			@Override
+			public int read(byte[] bytes, int offset, int length) throws IOException
+			{
+				int count = super.read(bytes, offset, length);
+				if (count > 0)
+				{
+					processed.addAndGet(count);
+				}
+				return count;
+			}
+		};
+
+		return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	// after each record read from a counted reader
+	void recordRead()
+	{
+		checkCancelled();
+		listener.progress(processed.get(), total);
+	}
+
+	// after records were written
+	void recordsWritten(int count)
+	{
+		checkCancelled();
+		listener.progress(processed.addAndGet(count), total);
+	}
+
+	void checkCancelled()
+	{
+		if (cancelled.getAsBoolean())
+		{
+			throw new CancellationException();
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package project.database;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+// Least recently used cache of run results keyed by (graph version, starting node id), bounded by an estimated
+// memory budget in bytes. The graph version only grows, so entries for older versions can never be hit again and
+// are dropped by removeOlderThan.
+public class ResultCache<V>
+{
+	private final Map<Key, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final ToLongFunction<V> sizer;
+	private final long budget;
+
+	private long size = 0;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	public ResultCache(long budget, ToLongFunction<V> sizer)
+	{
+		if (budget < 0)
+		{
+			throw new IllegalArgumentException("Memory budget cannot be negative.");
+		}
+
+		this.budget = budget;
+		this.sizer = sizer;
+	}
+
+	// returns null on a miss
+	public synchronized V get(long version, int startNodeId)
+	{
+		Entry<V> entry = entries.get(new Key(version, startNodeId));
+
+		if (entry == null)
+		{
+			misses++;
+			return null;
+		}
+
+		hits++;
+		return entry.value;
+	}
+
+	// a result larger than the whole budget is not cached at all
+	public synchronized void put(long version, int startNodeId, V value)
+	{
+		long valueSize = sizer.applyAsLong(value);
+
+		if (valueSize > budget)
+		{
+			return;
+		}
+
+		Entry<V> previous = entries.put(new Key(version, startNodeId), new Entry<>(value, valueSize));
+
+		if (previous != null)
+		{
+			size -= previous.size;
+		}
+
+		size += valueSize;
+
+		Iterator<Entry<V>> eldest = entries.values().iterator();
+		while (size > budget && eldest.hasNext())
+		{
+			size -= eldest.next().size;
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void removeOlderThan(long version)
+	{
+		entries.entrySet().removeIf(entry -> {
+			if (entry.getKey().version < version)
+			{
+				size -= entry.getValue().size;
+				return true;
+			}
+
+			return false;
+		});
+	}
+
+	public synchronized void clear()
+	{
+		entries.clear();
+		size = 0;
+	}
+
+	public synchronized int getNumOfEntries()
+	{
+		return entries.size();
+	}
+
+	// estimated bytes held by the cached results
+	public synchronized long getSize()
+	{
+		return size;
+	}
+
+	public long getBudget()
+	{
+		return budget;
+	}
+
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	public synchronized long getEvictions()
+	{
+		return evictions;
+	}
+
+	private static class Key
+	{
+		private final long version;
+		private final int startNodeId;
+
+		Key(long version, int startNodeId)
+		{
+			this.version = version;
+			this.startNodeId = startNodeId;
+		}
+
+		@Override
+		public boolean equals(Object other)
+		{
+			if (this == other)
+			{
+				return true;
+			}
+			if (other == null || getClass() != other.getClass())
+			{
+				return false;
+			}
+
+			Key key = (Key) other;
+
+			return version == key.version && startNodeId == key.startNodeId;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(version, startNodeId);
+		}
+	}
+
+	private static class Entry<V>
+	{
+		private final V value;
+		private final long size;
+
+		Entry(V value, long size)
+		{
+			this.value = value;
+			this.size = size;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package project.database;
+
+import project.model.dijkstra.ShortestPaths;
+import project.model.dijkstra.StepLog;
+
+// Everything a single Run produces: the recorded steps plus the final L values and predecessors
+public class RunResult
+{
+	private final StepLog steps;
+	private final ShortestPaths shortestPaths;
+
+	public RunResult(StepLog steps, ShortestPaths shortestPaths)
+	{
+		this.steps = steps;
+		this.shortestPaths = shortestPaths;
+	}
+
+	public StepLog getSteps()
+	{
+		return steps;
+	}
+
+	public ShortestPaths getShortestPaths()
+	{
+		return shortestPaths;
+	}
+
+	public long estimateSize()
+	{
+		return steps.estimateSize() + shortestPaths.estimateSize();
+	}
+}
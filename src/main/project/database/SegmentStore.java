@@ -0,0 +1,328 @@
+package project.database;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.JSONWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import project.model.dijkstra.po.EdgePO;
+import project.model.dijkstra.po.NodePO;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Nodes and edges split by id into segments of SEGMENT_SIZE, each kept in its own JSON file in the same format as
+// node_database.json and edge_database.json. Segment files are never rewritten: a checkpoint writes the segments that
+// changed as new files of the next generation, then replaces the manifest, which names the file of every segment and
+// the journal that goes with them. Until the manifest is replaced, load still reads the previous generation and its
+// journal; files the new manifest no longer names are only deleted after it is in place.
+public class SegmentStore
+{
+	public static final int SEGMENT_SIZE = 1024;
+
+	private static final String MANIFEST = "manifest.json";
+	private static final String NODE_PREFIX = "nodes-";
+	private static final String EDGE_PREFIX = "edges-";
+	private static final String JOURNAL_PREFIX = "journal-";
+
+	private final Path directory;
+
+	public SegmentStore(Path directory)
+	{
+		this.directory = directory;
+	}
+
+	public static int segmentOf(int id)
+	{
+		return Math.floorDiv(id, SEGMENT_SIZE);
+	}
+
+	public boolean exists()
+	{
+		return Files.isRegularFile(directory.resolve(MANIFEST));
+	}
+
+	// journal of the edits made since the current generation was written
+	public Path getJournal() throws IOException
+	{
+		if (!exists())
+		{
+			throw new IOException("No segments in " + directory);
+		}
+
+		return directory.resolve(readManifest().journal);
+	}
+
+	// total size of the current generation's segment files in bytes
+	public long size() throws IOException
+	{
+		long size = 0;
+
+		for (Path path : readManifest().files())
+		{
+			size += Files.size(path);
+		}
+
+		return size;
+	}
+
+	// Parses every segment on parseExecutor, as many at a time as it runs, and hands the POs to the consumers on the
+	// calling thread in id order. Every node comes before the first edge, so edges can be resolved against them.
+	// Progress and cancellation are checked for every record on the threads doing the parsing.
+	public void read(Consumer<NodePO> nodeConsumer, Consumer<EdgePO> edgeConsumer, ProgressTracker tracker,
+					 Executor parseExecutor) throws IOException
+	{
+		Manifest manifest = readManifest();
+		List<CompletableFuture<List<NodePO>>> nodeSegments = new ArrayList<>();
+		List<CompletableFuture<List<EdgePO>>> edgeSegments = new ArrayList<>();
+
+		for (String file : manifest.nodeFiles.values())
+		{
+			nodeSegments.add(parse(directory.resolve(file), NodePO.class, tracker, parseExecutor));
+		}
+		for (String file : manifest.edgeFiles.values())
+		{
+			edgeSegments.add(parse(directory.resolve(file), EdgePO.class, tracker, parseExecutor));
+		}
+
+		try
+		{
+			for (CompletableFuture<List<NodePO>> segment : nodeSegments)
+			{
+				join(segment).forEach(nodeConsumer);
+			}
+			for (CompletableFuture<List<EdgePO>> segment : edgeSegments)
+			{
+				join(segment).forEach(edgeConsumer);
+			}
+		}
+		finally
+		{
+			// segments that have not started yet are skipped after a failure
+			nodeSegments.forEach(segment -> segment.cancel(false));
+			edgeSegments.forEach(segment -> segment.cancel(false));
+		}
+	}
+
+	private <T> CompletableFuture<List<T>> parse(Path path, Class<T> type, ProgressTracker tracker, Executor executor)
+	{
+		return CompletableFuture.supplyAsync(() -> {
+			List<T> values = new ArrayList<>();
+			try
+			{
+				read(path, type, values::add, tracker);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+			return values;
+		}, executor);
+	}
+
+	private static <T> List<T> join(CompletableFuture<List<T>> segment) throws IOException
+	{
+		try
+		{
+			return segment.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private <T> void read(Path path, Class<T> type, Consumer<T> consumer, ProgressTracker tracker) throws IOException
+	{
+		try (JSONReader reader = new JSONReader(tracker.open(path)))
+		{
+			reader.startArray();
+			while (reader.hasNext())
+			{
+				consumer.accept(reader.readObject(type));
+				tracker.recordRead();
+			}
+			reader.endArray();
+		}
+	}
+
+	// the next generation starts out with the current one's segments, or with none when it replaces all of them
+	public Generation next(boolean full) throws IOException
+	{
+		Manifest current = readManifest();
+
+		return full ? new Generation(current.generation + 1, new TreeMap<>(), new TreeMap<>())
+				: new Generation(current.generation + 1, current.nodeFiles, current.edgeFiles);
+	}
+
+	public class Generation
+	{
+		private final int number;
+		private final TreeMap<Integer, String> nodeFiles;
+		private final TreeMap<Integer, String> edgeFiles;
+
+		private Generation(int number, Map<Integer, String> nodeFiles, Map<Integer, String> edgeFiles)
+		{
+			this.number = number;
+			this.nodeFiles = new TreeMap<>(nodeFiles);
+			this.edgeFiles = new TreeMap<>(edgeFiles);
+		}
+
+		// an empty segment is left out of the generation
+		public void writeNodes(int segment, Collection<NodePO> nodes) throws IOException
+		{
+			write(nodeFiles, NODE_PREFIX, segment, nodes);
+		}
+
+		public void writeEdges(int segment, Collection<EdgePO> edges) throws IOException
+		{
+			write(edgeFiles, EDGE_PREFIX, segment, edges);
+		}
+
+		private void write(TreeMap<Integer, String> files, String prefix, int segment, Collection<?> values)
+				throws IOException
+		{
+			if (values.isEmpty())
+			{
+				files.remove(segment);
+				return;
+			}
+
+			String file = prefix + segment + "." + number + ".json";
+			Files.createDirectories(directory);
+			AtomicFile.write(directory.resolve(file), out -> {
+				try (JSONWriter writer = new JSONWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)))
+				{
+					writer.config(SerializerFeature.IgnoreNonFieldGetter, true);
+					writer.startArray();
+					for (Object value : values)
+					{
+						writer.writeValue(value);
+					}
+					writer.endArray();
+				}
+			});
+			files.put(segment, file);
+		}
+
+		// makes this the generation load reads, with an empty journal, and deletes what it no longer needs
+		public void commit() throws IOException
+		{
+			Manifest manifest = new Manifest(number, JOURNAL_PREFIX + number + ".jsonl", nodeFiles, edgeFiles);
+			byte[] bytes = manifest.toJson().toJSONString().getBytes(StandardCharsets.UTF_8);
+
+			Files.createDirectories(directory);
+			AtomicFile.write(directory.resolve(MANIFEST), out -> out.write(bytes));
+
+			deleteUnused(manifest);
+		}
+	}
+
+	// left behind by earlier generations or by checkpoints that never reached their commit
+	private void deleteUnused(Manifest manifest) throws IOException
+	{
+		Set<Path> used = new HashSet<>(manifest.files());
+		used.add(directory.resolve(manifest.journal));
+		List<Path> unused = new ArrayList<>();
+
+		try (Stream<Path> files = Files.list(directory))
+		{
+			files.filter(path -> {
+				String name = path.getFileName().toString();
+				return !used.contains(path) && (name.startsWith(NODE_PREFIX) || name.startsWith(EDGE_PREFIX)
+						|| name.startsWith(JOURNAL_PREFIX));
+			}).forEach(unused::add);
+		}
+
+		for (Path path : unused)
+		{
+			Files.deleteIfExists(path);
+		}
+	}
+
+	private Manifest readManifest() throws IOException
+	{
+		Path path = directory.resolve(MANIFEST);
+
+		if (!Files.exists(path))
+		{
+			return new Manifest(0, JOURNAL_PREFIX + 0 + ".jsonl", new TreeMap<>(), new TreeMap<>());
+		}
+
+		JSONObject json = JSON.parseObject(Files.readString(path, StandardCharsets.UTF_8));
+		return new Manifest(json.getIntValue("generation"), json.getString("journal"), files(json.getJSONObject("nodes")),
+				files(json.getJSONObject("edges")));
+	}
+
+	private static TreeMap<Integer, String> files(JSONObject json)
+	{
+		TreeMap<Integer, String> files = new TreeMap<>();
+
+		for (String segment : json.keySet())
+		{
+			files.put(Integer.parseInt(segment), json.getString(segment));
+		}
+
+		return files;
+	}
+
+	private class Manifest
+	{
+		private final int generation;
+		private final String journal;
+		// segment -> file name, in segment order
+		private final TreeMap<Integer, String> nodeFiles;
+		private final TreeMap<Integer, String> edgeFiles;
+
+		Manifest(int generation, String journal, TreeMap<Integer, String> nodeFiles, TreeMap<Integer, String> edgeFiles)
+		{
+			this.generation = generation;
+			this.journal = journal;
+			this.nodeFiles = nodeFiles;
+			this.edgeFiles = edgeFiles;
+		}
+
+		List<Path> files()
+		{
+			List<Path> files = new ArrayList<>();
+			nodeFiles.values().forEach(file -> files.add(directory.resolve(file)));
+			edgeFiles.values().forEach(file -> files.add(directory.resolve(file)));
+			return files;
+		}
+
+		JSONObject toJson()
+		{
+			JSONObject nodes = new JSONObject(true);
+			nodeFiles.forEach((segment, file) -> nodes.put(String.valueOf(segment), file));
+			JSONObject edges = new JSONObject(true);
+			edgeFiles.forEach((segment, file) -> edges.put(String.valueOf(segment), file));
+
+			return new JSONObject(true).fluentPut("generation", generation).fluentPut("journal", journal)
+					.fluentPut("nodes", nodes).fluentPut("edges", edges);
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package project.model;
+
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// Immutable compressed sparse row snapshot of an undirected graph.
+// The arcs of the node at dense index i are firstArc(i)..endArc(i)-1; every edge is stored once in each direction.
+// Node coordinates are kept when known, NaN otherwise.
+public final class CsrGraph
+{
+	private final NodeIndex nodeIndex;
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+	private final double[] xCoords;
+	private final double[] yCoords;
+	private final int maxWeight;
+
+	private CsrGraph(NodeIndex nodeIndex, int[] offsets, int[] targets, int[] weights, double[] xCoords,
+	                 double[] yCoords)
+	{
+		this.nodeIndex = nodeIndex;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.xCoords = xCoords;
+		this.yCoords = yCoords;
+
+		int max = 0;
+		for (int weight : weights)
+		{
+			max = Math.max(max, weight);
+		}
+
+		this.maxWeight = max;
+	}
+
+	public static CsrGraph of(Collection<Node> nodes, Collection<Edge> edges)
+	{
+		int[] nodeIds1 = new int[edges.size()];
+		int[] nodeIds2 = new int[edges.size()];
+		int[] edgeWeights = new int[edges.size()];
+		int index = 0;
+
+		for (Edge edge : edges)
+		{
+			nodeIds1[index] = edge.getNode1().getId();
+			nodeIds2[index] = edge.getNode2().getId();
+			edgeWeights[index] = edge.getWeight();
+			index++;
+		}
+
+		double[] xCoords = new double[nodes.size()];
+		double[] yCoords = new double[nodes.size()];
+		index = 0;
+
+		for (Node node : nodes)
+		{
+			xCoords[index] = node.getShape() == null ? Double.NaN : node.getShape().getCenterX();
+			yCoords[index] = node.getShape() == null ? Double.NaN : node.getShape().getCenterY();
+			index++;
+		}
+
+		return of(NodeIndex.of(nodes), nodeIds1, nodeIds2, edgeWeights, xCoords, yCoords);
+	}
+
+	public static CsrGraph of(NodeIndex nodeIndex, int[] nodeIds1, int[] nodeIds2, int[] edgeWeights)
+	{
+		double[] unknown = new double[nodeIndex.size()];
+		Arrays.fill(unknown, Double.NaN);
+
+		return of(nodeIndex, nodeIds1, nodeIds2, edgeWeights, unknown, unknown);
+	}
+
+	// Edges are given as parallel arrays of end node ids and weights; edges to unknown nodes and self loops are skipped.
+	// Coordinates are in dense node order.
+	public static CsrGraph of(NodeIndex nodeIndex, int[] nodeIds1, int[] nodeIds2, int[] edgeWeights,
+	                          double[] xCoords, double[] yCoords)
+	{
+		int numOfNodes = nodeIndex.size();
+		int[] offsets = new int[numOfNodes + 1];
+		int[] ends1 = new int[nodeIds1.length];
+		int[] ends2 = new int[nodeIds1.length];
+
+		for (int i = 0; i < nodeIds1.length; i++)
+		{
+			ends1[i] = nodeIndex.indexOf(nodeIds1[i]);
+			ends2[i] = nodeIndex.indexOf(nodeIds2[i]);
+
+			if (ends1[i] != -1 && ends2[i] != -1 && ends1[i] != ends2[i])
+			{
+				offsets[ends1[i] + 1]++;
+				offsets[ends2[i] + 1]++;
+			}
+		}
+
+		for (int i = 0; i < numOfNodes; i++)
+		{
+			offsets[i + 1] += offsets[i];
+		}
+
+		int[] targets = new int[offsets[numOfNodes]];
+		int[] weights = new int[offsets[numOfNodes]];
+		int[] cursor = new int[numOfNodes];
+		System.arraycopy(offsets, 0, cursor, 0, numOfNodes);
+
+		for (int i = 0; i < nodeIds1.length; i++)
+		{
+			if (ends1[i] != -1 && ends2[i] != -1 && ends1[i] != ends2[i])
+			{
+				targets[cursor[ends1[i]]] = ends2[i];
+				weights[cursor[ends1[i]]++] = edgeWeights[i];
+				targets[cursor[ends2[i]]] = ends1[i];
+				weights[cursor[ends2[i]]++] = edgeWeights[i];
+			}
+		}
+
+		return new CsrGraph(nodeIndex, offsets, targets, weights, xCoords, yCoords);
+	}
+
+	public NodeIndex getNodeIndex()
+	{
+		return nodeIndex;
+	}
+
+	public int size()
+	{
+		return nodeIndex.size();
+	}
+
+	// number of stored arcs, twice the number of edges
+	public int arcCount()
+	{
+		return targets.length;
+	}
+
+	public int indexOf(int nodeId)
+	{
+		return nodeIndex.indexOf(nodeId);
+	}
+
+	public int idOf(int index)
+	{
+		return nodeIndex.idOf(index);
+	}
+
+	public int firstArc(int index)
+	{
+		return offsets[index];
+	}
+
+	public int endArc(int index)
+	{
+		return offsets[index + 1];
+	}
+
+	public int target(int arc)
+	{
+		return targets[arc];
+	}
+
+	public int weight(int arc)
+	{
+		return weights[arc];
+	}
+
+	// largest arc weight, 0 when there are no arcs
+	public int maxWeight()
+	{
+		return maxWeight;
+	}
+
+	public double getX(int index)
+	{
+		return xCoords[index];
+	}
+
+	public double getY(int index)
+	{
+		return yCoords[index];
+	}
+
+	public int degree(int index)
+	{
+		return offsets[index + 1] - offsets[index];
+	}
+
+	// hash of the node ids and arcs, used to tell whether data precomputed from a graph still matches it
+	public long fingerprint()
+	{
+		long hash = size();
+
+		for (int i = 0; i < size(); i++)
+		{
+			hash = hash * 31 + idOf(i);
+			hash = hash * 31 + offsets[i + 1];
+		}
+
+		for (int arc = 0; arc < targets.length; arc++)
+		{
+			hash = hash * 31 + targets[arc];
+			hash = hash * 31 + weights[arc];
+		}
+
+		return hash;
+	}
+}
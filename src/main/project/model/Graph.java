@@ -3,29 +3,162 @@ package project.model;
 import project.model.dijkstra.Edge;
 import project.model.dijkstra.Node;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class Graph
 {
 	List<Node> nodes;
 	List<Edge> edges;
 
+	// node id -> (neighbour node id -> neighbour)
+	private final Map<Integer, Map<Integer, Neighbour>> adjacency = new HashMap<>();
+
 	protected Graph(List<Node> nodes, List<Edge> edges)
 	{
 		this.nodes = nodes;
 		this.edges = edges;
+
+		rebuildIndex();
+	}
+
+	public CsrGraph snapshot()
+	{
+		return CsrGraph.of(nodes, edges);
 	}
 
 	public Edge findEdge(Node node1, Node node2)
 	{
+		Neighbour neighbour = adjacency.getOrDefault(node1.getId(), Collections.emptyMap()).get(node2.getId());
+
+		return neighbour == null ? null : neighbour.getEdge();
+	}
+
+	public Collection<Neighbour> getNeighbours(Node node)
+	{
+		return getNeighbours(node.getId());
+	}
+
+	public Collection<Neighbour> getNeighbours(int nodeId)
+	{
+		Map<Integer, Neighbour> neighbours = adjacency.get(nodeId);
+
+		return neighbours == null ? Collections.emptyList() : neighbours.values();
+	}
+
+	// Largest weight in the adjacency index, 0 when there are no edges
+	public int getMaxWeight()
+	{
+		int maxWeight = 0;
+
+		for (Map<Integer, Neighbour> neighbours : adjacency.values())
+		{
+			for (Neighbour neighbour : neighbours.values())
+			{
+				maxWeight = Math.max(maxWeight, neighbour.getWeight());
+			}
+		}
+
+		return maxWeight;
+	}
+
+	// Rebuilds the adjacency index from the edge list, for when the list has been replaced wholesale
+	public void rebuildIndex()
+	{
+		adjacency.clear();
+
 		for (Edge edge : edges)
 		{
-			if (edge.getNodes().contains(node1) && edge.getNodes().contains(node2))
+			addToIndex(edge);
+		}
+	}
+
+	public void addToIndex(Edge edge)
+	{
+		Node node1 = edge.getNode1();
+		Node node2 = edge.getNode2();
+
+		if (node1.getId() == node2.getId())
+		{
+			return;
+		}
+
+		addNeighbour(node1.getId(), node2, edge);
+		addNeighbour(node2.getId(), node1, edge);
+	}
+
+	public void removeFromIndex(Edge edge)
+	{
+		removeNeighbour(edge.getNode1().getId(), edge.getNode2().getId(), edge);
+		removeNeighbour(edge.getNode2().getId(), edge.getNode1().getId(), edge);
+	}
+
+	public void removeFromIndex(Node node)
+	{
+		Map<Integer, Neighbour> neighbours = adjacency.remove(node.getId());
+
+		if (neighbours == null)
+		{
+			return;
+		}
+
+		for (Integer neighbourId : neighbours.keySet())
+		{
+			Map<Integer, Neighbour> reverse = adjacency.get(neighbourId);
+
+			if (reverse != null)
 			{
-				return edge;
+				reverse.remove(node.getId());
 			}
 		}
+	}
+
+	// Edge weights are stored in the index, so a weight change has to be pushed through here
+	public void updateIndex(Edge edge)
+	{
+		updateWeight(edge.getNode1().getId(), edge.getNode2().getId(), edge);
+		updateWeight(edge.getNode2().getId(), edge.getNode1().getId(), edge);
+	}
+
+	// parallel edges share one entry, which searches see as the lightest of them
+	private void addNeighbour(int nodeId, Node neighbourNode, Edge edge)
+	{
+		Map<Integer, Neighbour> neighbours = adjacency.computeIfAbsent(nodeId, k -> new LinkedHashMap<>());
+		Neighbour neighbour = neighbours.get(neighbourNode.getId());
+
+		if (neighbour == null)
+		{
+			neighbours.put(neighbourNode.getId(), new Neighbour(neighbourNode, edge));
+		}
+		else
+		{
+			neighbour.addEdge(edge);
+		}
+	}
+
+	// the pair stays in the index while another edge still joins it
+	private void removeNeighbour(int nodeId, int neighbourId, Edge edge)
+	{
+		Map<Integer, Neighbour> neighbours = adjacency.get(nodeId);
+		Neighbour neighbour = neighbours == null ? null : neighbours.get(neighbourId);
 
-		return null;
+		if (neighbour != null && !neighbour.removeEdge(edge))
+		{
+			neighbours.remove(neighbourId);
+		}
+	}
+
+	private void updateWeight(int nodeId, int neighbourId, Edge edge)
+	{
+		Neighbour neighbour = adjacency.getOrDefault(nodeId, Collections.emptyMap()).get(neighbourId);
+
+		if (neighbour != null)
+		{
+			neighbour.updateWeight(edge);
+		}
 	}
 }
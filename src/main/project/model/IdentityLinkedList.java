@@ -0,0 +1,248 @@
+package project.model;
+
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Doubly linked list that finds its entries by identity, so add, contains and remove cost the same however long the
+// list is. Keeps insertion order like LinkedList. Each element can be in the list only once, and positional access
+// still walks the list.
+public class IdentityLinkedList<E> extends AbstractSequentialList<E>
+{
+	private static class Entry<E>
+	{
+		private E element;
+		private Entry<E> previous;
+		private Entry<E> next;
+
+		Entry(E element)
+		{
+			this.element = element;
+		}
+	}
+
+	private final Map<E, Entry<E>> entries = new IdentityHashMap<>();
+	// sentinel of the circular list, before the first and after the last entry
+	private final Entry<E> head = new Entry<>(null);
+
+	public IdentityLinkedList()
+	{
+		head.previous = head;
+		head.next = head;
+	}
+
+	@Override
+	public int size()
+	{
+		return entries.size();
+	}
+
+	@Override
+	public boolean contains(Object element)
+	{
+		return entries.containsKey(element);
+	}
+
+	@Override
+	public boolean add(E element)
+	{
+		linkBefore(head, element);
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object element)
+	{
+		Entry<E> entry = entries.get(element);
+
+		if (entry == null)
+		{
+			return false;
+		}
+
+		unlink(entry);
+		return true;
+	}
+
+	@Override
+	public void clear()
+	{
+		entries.clear();
+		head.previous = head;
+		head.next = head;
+		modCount++;
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index)
+	{
+		if (index < 0 || index > size())
+		{
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+		}
+
+		return new Iterator(index);
+	}
+
+	private void linkBefore(Entry<E> successor, E element)
+	{
+		if (entries.containsKey(element))
+		{
+			throw new IllegalArgumentException("Element is already in the list: " + element);
+		}
+
+		Entry<E> entry = new Entry<>(element);
+		entry.previous = successor.previous;
+		entry.next = successor;
+		successor.previous.next = entry;
+		successor.previous = entry;
+		entries.put(element, entry);
+		modCount++;
+	}
+
+	private void unlink(Entry<E> entry)
+	{
+		entry.previous.next = entry.next;
+		entry.next.previous = entry.previous;
+		entries.remove(entry.element);
+		modCount++;
+	}
+
+	private class Iterator implements ListIterator<E>
+	{
+		private Entry<E> next;
+		private int nextIndex;
+		private Entry<E> lastReturned = null;
+		private int expectedModCount = modCount;
+
+		Iterator(int index)
+		{
+			next = head.next;
+			for (nextIndex = 0; nextIndex < index; nextIndex++)
+			{
+				next = next.next;
+			}
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return nextIndex < size();
+		}
+
+		@Override
+		public E next()
+		{
+			checkForComodification();
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+
+			lastReturned = next;
+			next = next.next;
+			nextIndex++;
+			return lastReturned.element;
+		}
+
+		@Override
+		public boolean hasPrevious()
+		{
+			return nextIndex > 0;
+		}
+
+		@Override
+		public E previous()
+		{
+			checkForComodification();
+			if (!hasPrevious())
+			{
+				throw new NoSuchElementException();
+			}
+
+			next = next.previous;
+			lastReturned = next;
+			nextIndex--;
+			return lastReturned.element;
+		}
+
+		@Override
+		public int nextIndex()
+		{
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex()
+		{
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove()
+		{
+			checkForComodification();
+			if (lastReturned == null)
+			{
+				throw new IllegalStateException();
+			}
+
+			// after previous() the cursor sits on the removed entry, after next() just past it
+			if (next == lastReturned)
+			{
+				next = lastReturned.next;
+			}
+			else
+			{
+				nextIndex--;
+			}
+
+			unlink(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(E element)
+		{
+			checkForComodification();
+			if (lastReturned == null)
+			{
+				throw new IllegalStateException();
+			}
+			if (element == lastReturned.element)
+			{
+				return;
+			}
+			if (entries.containsKey(element))
+			{
+				throw new IllegalArgumentException("Element is already in the list: " + element);
+			}
+
+			entries.remove(lastReturned.element);
+			lastReturned.element = element;
+			entries.put(element, lastReturned);
+		}
+
+		@Override
+		public void add(E element)
+		{
+			checkForComodification();
+			linkBefore(next, element);
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		private void checkForComodification()
+		{
+			if (modCount != expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package project.model;
+
+import java.util.Arrays;
+
+// Open addressing int -> int hash map with linear probing, so lookups and updates never box
+public class IntIntMap
+{
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] keys;
+	private int[] values;
+	private boolean[] used;
+	private int size = 0;
+	private int mask;
+
+	public IntIntMap()
+	{
+		this(16);
+	}
+
+	public IntIntMap(int expectedSize)
+	{
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public boolean containsKey(int key)
+	{
+		return used[findSlot(key)];
+	}
+
+	public int get(int key, int defaultValue)
+	{
+		int slot = findSlot(key);
+
+		return used[slot] ? values[slot] : defaultValue;
+	}
+
+	public void put(int key, int value)
+	{
+		int slot = findSlot(key);
+
+		if (used[slot])
+		{
+			values[slot] = value;
+			return;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+		used[slot] = true;
+		size++;
+
+		if (size > keys.length * LOAD_FACTOR)
+		{
+			resize(keys.length * 2);
+		}
+	}
+
+	public boolean remove(int key)
+	{
+		int slot = findSlot(key);
+
+		if (!used[slot])
+		{
+			return false;
+		}
+
+		used[slot] = false;
+		size--;
+
+		// shifts the rest of the probe chain back so later lookups do not stop at the new gap
+		int next = (slot + 1) & mask;
+
+		while (used[next])
+		{
+			int home = hash(keys[next]);
+
+			if (((next - home) & mask) >= ((next - slot) & mask))
+			{
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				used[slot] = true;
+				used[next] = false;
+				slot = next;
+			}
+
+			next = (next + 1) & mask;
+		}
+
+		return true;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+	private int findSlot(int key)
+	{
+		int slot = hash(key);
+
+		while (used[slot] && keys[slot] != key)
+		{
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	private int hash(int key)
+	{
+		int h = key * 0x9E3779B9;
+
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private void resize(int capacity)
+	{
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+
+		allocate(capacity);
+		size = 0;
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldUsed[i])
+			{
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private void allocate(int capacity)
+	{
+		keys = new int[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+	}
+
+	private static int tableSizeFor(int expectedSize)
+	{
+		int capacity = 16;
+
+		while (capacity * LOAD_FACTOR < expectedSize)
+		{
+			capacity <<= 1;
+		}
+
+		return capacity;
+	}
+}
@@ -0,0 +1,112 @@
+package project.model;
+
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One entry of a node's adjacency list: the node on the other end and the lightest of the edges joining the two,
+// along with that edge's weight
+public class Neighbour
+{
+	private final Node node;
+	private Edge edge;
+	private int weight;
+	// the other edges joining the same two nodes, null until there is a second one
+	private List<Edge> parallelEdges = null;
+
+	Neighbour(Node node, Edge edge)
+	{
+		this.node = node;
+		this.edge = edge;
+		this.weight = edge.getWeight();
+	}
+
+	public Node getNode()
+	{
+		return node;
+	}
+
+	public Edge getEdge()
+	{
+		return edge;
+	}
+
+	public int getWeight()
+	{
+		return weight;
+	}
+
+	void addEdge(Edge other)
+	{
+		if (parallelEdges == null)
+		{
+			parallelEdges = new ArrayList<>(2);
+		}
+
+		parallelEdges.add(other);
+		pickLightest();
+	}
+
+	// false once no edge joins the two nodes any more
+	boolean removeEdge(Edge removed)
+	{
+		if (removed != edge)
+		{
+			if (parallelEdges != null)
+			{
+				parallelEdges.removeIf(other -> other == removed);
+			}
+			return true;
+		}
+
+		if (parallelEdges == null || parallelEdges.isEmpty())
+		{
+			return false;
+		}
+
+		edge = parallelEdges.remove(parallelEdges.size() - 1);
+		weight = edge.getWeight();
+		pickLightest();
+		return true;
+	}
+
+	// after the weight of one of the edges changed
+	void updateWeight(Edge changed)
+	{
+		if (changed == edge)
+		{
+			weight = edge.getWeight();
+		}
+
+		pickLightest();
+	}
+
+	private void pickLightest()
+	{
+		if (parallelEdges == null)
+		{
+			return;
+		}
+
+		int lightest = -1;
+		for (int i = 0; i < parallelEdges.size(); i++)
+		{
+			int otherWeight = parallelEdges.get(i).getWeight();
+
+			if (otherWeight < (lightest == -1 ? weight : parallelEdges.get(lightest).getWeight()))
+			{
+				lightest = i;
+			}
+		}
+
+		if (lightest != -1)
+		{
+			Edge previous = edge;
+			edge = parallelEdges.get(lightest);
+			parallelEdges.set(lightest, previous);
+			weight = edge.getWeight();
+		}
+	}
+}
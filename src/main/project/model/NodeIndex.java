@@ -0,0 +1,62 @@
+package project.model;
+
+import project.model.dijkstra.Node;
+
+import java.util.Collection;
+
+// Maps node ids onto the dense indices 0..size-1 used by the array based solvers
+public class NodeIndex
+{
+	private final int[] ids;
+	private final IntIntMap indexById;
+
+	public NodeIndex(int[] ids)
+	{
+		this.ids = ids.clone();
+		this.indexById = new IntIntMap(ids.length);
+
+		for (int i = 0; i < ids.length; i++)
+		{
+			if (indexById.containsKey(ids[i]))
+			{
+				throw new IllegalArgumentException("Duplicate node id " + ids[i] + ".");
+			}
+
+			indexById.put(ids[i], i);
+		}
+	}
+
+	public static NodeIndex of(Collection<Node> nodes)
+	{
+		int[] ids = new int[nodes.size()];
+		int index = 0;
+
+		for (Node node : nodes)
+		{
+			ids[index++] = node.getId();
+		}
+
+		return new NodeIndex(ids);
+	}
+
+	public int size()
+	{
+		return ids.length;
+	}
+
+	public int idOf(int index)
+	{
+		return ids[index];
+	}
+
+	// returns -1 when the id is not in the index
+	public int indexOf(int nodeId)
+	{
+		return indexById.get(nodeId, -1);
+	}
+
+	public boolean contains(int nodeId)
+	{
+		return indexById.containsKey(nodeId);
+	}
+}
@@ -0,0 +1,63 @@
+package project.model.allpairs;
+
+import project.model.CsrGraph;
+
+import java.util.concurrent.ExecutorService;
+
+// Entry point for distance matrices. Dense graphs, such as the complete graphs from ComparisonChartData, go to the
+// blocked Floyd-Warshall; sparse ones, such as the saved graphs, to repeated Dijkstra.
+public class AllPairsShortestPaths
+{
+	public enum Backend
+	{
+		FLOYD_WARSHALL,
+		REPEATED_DIJKSTRA
+	}
+
+	// share of all possible edges above which Floyd-Warshall is used
+	static final double DENSITY_THRESHOLD = 0.25;
+
+	private final ExecutorService executor;
+	private final int parallelism;
+
+	public AllPairsShortestPaths(ExecutorService executor, int parallelism)
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be greater than 0.");
+		}
+
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	public static Backend chooseBackend(CsrGraph graph)
+	{
+		long size = graph.size();
+
+		if (size < 2)
+		{
+			return Backend.REPEATED_DIJKSTRA;
+		}
+
+		// arcCount already counts both directions of every edge
+		double density = (double) graph.arcCount() / (size * (size - 1));
+
+		return density >= DENSITY_THRESHOLD ? Backend.FLOYD_WARSHALL : Backend.REPEATED_DIJKSTRA;
+	}
+
+	public DistanceMatrix compute(CsrGraph graph)
+	{
+		return compute(graph, chooseBackend(graph));
+	}
+
+	public DistanceMatrix compute(CsrGraph graph, Backend backend)
+	{
+		if (backend == Backend.FLOYD_WARSHALL)
+		{
+			return new FloydWarshall(executor).compute(graph);
+		}
+
+		return new RepeatedDijkstra(executor, parallelism).compute(graph);
+	}
+}
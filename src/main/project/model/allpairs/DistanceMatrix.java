@@ -0,0 +1,149 @@
+package project.model.allpairs;
+
+import project.model.NodeIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Distances between every pair of nodes, stored row by row in one flat int[] over the dense indices of a NodeIndex.
+// -1 stands for infinity, like the L values elsewhere.
+public class DistanceMatrix
+{
+	private static final int MAGIC = 0x41505350;
+	private static final int VERSION = 1;
+	private static final int HEADER_INTS = 3;
+	// rows are mapped a few at a time, so the file can be larger than a single mapping allows
+	private static final long MAX_REGION_BYTES = 1 << 28;
+
+	private final NodeIndex nodeIndex;
+	private final int[] distances;
+
+	// room for the distances between size nodes, which have to fit in one int[]
+	static int[] allocate(int size)
+	{
+		if ((long) size * size > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("A distance matrix holds at most 46340 nodes, not " + size + ".");
+		}
+
+		return new int[size * size];
+	}
+
+	DistanceMatrix(NodeIndex nodeIndex, int[] distances)
+	{
+		this.nodeIndex = nodeIndex;
+		this.distances = distances;
+	}
+
+	public NodeIndex getNodeIndex()
+	{
+		return nodeIndex;
+	}
+
+	public int size()
+	{
+		return nodeIndex.size();
+	}
+
+	public int get(int from, int to)
+	{
+		return distances[from * size() + to];
+	}
+
+	public int getById(int fromId, int toId)
+	{
+		int from = nodeIndex.indexOf(fromId);
+		int to = nodeIndex.indexOf(toId);
+
+		if (from == -1 || to == -1)
+		{
+			throw new IllegalArgumentException("Node is not in the matrix.");
+		}
+
+		return get(from, to);
+	}
+
+	// copy of the distances from the given node to every other one
+	public int[] getRow(int from)
+	{
+		int[] row = new int[size()];
+		System.arraycopy(distances, from * size(), row, 0, size());
+
+		return row;
+	}
+
+	// writes a header, the node ids and then the rows as big-endian ints through a memory-mapped file
+	public void export(Path path) throws IOException
+	{
+		int size = size();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			long position = 0;
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, position, 4L * (HEADER_INTS + size));
+			IntBuffer ints = header.asIntBuffer();
+			ints.put(MAGIC).put(VERSION).put(size);
+
+			for (int i = 0; i < size; i++)
+			{
+				ints.put(nodeIndex.idOf(i));
+			}
+
+			header.force();
+			position += 4L * (HEADER_INTS + size);
+
+			int rowsPerRegion = rowsPerRegion(size);
+			for (int row = 0; row < size; row += rowsPerRegion)
+			{
+				int rows = Math.min(rowsPerRegion, size - row);
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, position, 4L * rows * size);
+				region.asIntBuffer().put(distances, row * size, rows * size);
+				region.force();
+				position += 4L * rows * size;
+			}
+		}
+	}
+
+	public static DistanceMatrix load(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			ByteBuffer start = channel.map(FileChannel.MapMode.READ_ONLY, 0, 4L * HEADER_INTS);
+
+			if (start.getInt() != MAGIC || start.getInt() != VERSION)
+			{
+				throw new IOException("Not a distance matrix file: " + path);
+			}
+
+			int size = start.getInt();
+			long position = 4L * HEADER_INTS;
+
+			int[] ids = new int[size];
+			channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * size).asIntBuffer().get(ids);
+			position += 4L * size;
+
+			int[] distances = allocate(size);
+			int rowsPerRegion = rowsPerRegion(size);
+			for (int row = 0; row < size; row += rowsPerRegion)
+			{
+				int rows = Math.min(rowsPerRegion, size - row);
+				channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * rows * size).asIntBuffer()
+						.get(distances, row * size, rows * size);
+				position += 4L * rows * size;
+			}
+
+			return new DistanceMatrix(new NodeIndex(ids), distances);
+		}
+	}
+
+	private static int rowsPerRegion(int size)
+	{
+		return (int) Math.max(1, MAX_REGION_BYTES / (4L * Math.max(size, 1)));
+	}
+}
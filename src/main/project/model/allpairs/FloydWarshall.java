@@ -0,0 +1,166 @@
+package project.model.allpairs;
+
+import project.model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Floyd-Warshall split into square blocks, so each update works on three blocks that fit in cache.
+// For every pivot block: the diagonal block is updated first, then the blocks in its row and column in parallel,
+// then every other block in parallel, one task per block row.
+public class FloydWarshall
+{
+	static final int DEFAULT_BLOCK_SIZE = 64;
+	// large enough to be unreachable, small enough that adding two of them does not overflow
+	private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+	private final ExecutorService executor;
+	private final int blockSize;
+
+	public FloydWarshall(ExecutorService executor)
+	{
+		this(executor, DEFAULT_BLOCK_SIZE);
+	}
+
+	public FloydWarshall(ExecutorService executor, int blockSize)
+	{
+		if (blockSize < 1)
+		{
+			throw new IllegalArgumentException("Block size must be greater than 0.");
+		}
+
+		this.executor = executor;
+		this.blockSize = blockSize;
+	}
+
+	public DistanceMatrix compute(CsrGraph graph)
+	{
+		int size = graph.size();
+		int[] distances = DistanceMatrix.allocate(size);
+		Arrays.fill(distances, INFINITY);
+
+		for (int from = 0; from < size; from++)
+		{
+			distances[from * size + from] = 0;
+
+			for (int arc = graph.firstArc(from); arc < graph.endArc(from); arc++)
+			{
+				int cell = from * size + graph.target(arc);
+				distances[cell] = Math.min(distances[cell], graph.weight(arc));
+			}
+		}
+
+		int numOfBlocks = (size + blockSize - 1) / blockSize;
+
+		for (int pivot = 0; pivot < numOfBlocks; pivot++)
+		{
+			int k = pivot;
+			update(distances, size, k, k, k);
+
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (int block = 0; block < numOfBlocks; block++)
+			{
+				if (block != k)
+				{
+					int other = block;
+					tasks.add(() -> {
+						update(distances, size, k, other, k);
+						update(distances, size, other, k, k);
+						return null;
+					});
+				}
+			}
+			invokeAll(tasks);
+
+			tasks.clear();
+			for (int row = 0; row < numOfBlocks; row++)
+			{
+				if (row != k)
+				{
+					int blockRow = row;
+					tasks.add(() -> {
+						for (int column = 0; column < numOfBlocks; column++)
+						{
+							if (column != k)
+							{
+								update(distances, size, blockRow, column, k);
+							}
+						}
+						return null;
+					});
+				}
+			}
+			invokeAll(tasks);
+		}
+
+		for (int cell = 0; cell < distances.length; cell++)
+		{
+			if (distances[cell] >= INFINITY)
+			{
+				distances[cell] = -1;
+			}
+		}
+
+		return new DistanceMatrix(graph.getNodeIndex(), distances);
+	}
+
+	// relaxes block (row, column) through every node of the pivot block
+	private void update(int[] distances, int size, int row, int column, int pivot)
+	{
+		int rowEnd = Math.min((row + 1) * blockSize, size);
+		int columnStart = column * blockSize;
+		int columnEnd = Math.min(columnStart + blockSize, size);
+		int pivotEnd = Math.min((pivot + 1) * blockSize, size);
+
+		for (int k = pivot * blockSize; k < pivotEnd; k++)
+		{
+			int kRow = k * size;
+
+			for (int i = row * blockSize; i < rowEnd; i++)
+			{
+				int iRow = i * size;
+				int ik = distances[iRow + k];
+
+				if (ik == INFINITY)
+				{
+					continue;
+				}
+
+				for (int j = columnStart; j < columnEnd; j++)
+				{
+					int through = ik + distances[kRow + j];
+
+					if (through < distances[iRow + j])
+					{
+						distances[iRow + j] = through;
+					}
+				}
+			}
+		}
+	}
+
+	private void invokeAll(List<Callable<Void>> tasks)
+	{
+		try
+		{
+			for (Future<Void> future : executor.invokeAll(tasks))
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("All-pairs computation was interrupted.", e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
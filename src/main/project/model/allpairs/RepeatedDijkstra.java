@@ -0,0 +1,30 @@
+package project.model.allpairs;
+
+import project.model.CsrGraph;
+import project.model.dijkstra.Engine;
+import project.model.dijkstra.ShortestPathService;
+
+import java.util.concurrent.ExecutorService;
+
+// One heap Dijkstra per source node, run in parallel through ShortestPathService. O(V (V + E) log V), which beats
+// Floyd-Warshall's O(V^3) on sparse graphs. Each search writes its row straight into the matrix, so besides the
+// matrix only the searches' own V-sized arrays are in memory.
+public class RepeatedDijkstra
+{
+	private final ExecutorService executor;
+	private final int parallelism;
+
+	public RepeatedDijkstra(ExecutorService executor, int parallelism)
+	{
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	public DistanceMatrix compute(CsrGraph graph)
+	{
+		int[] distances = DistanceMatrix.allocate(graph.size());
+		new ShortestPathService(graph, executor, Engine.HEAP, parallelism).solveAll(distances);
+
+		return new DistanceMatrix(graph.getNodeIndex(), distances);
+	}
+}
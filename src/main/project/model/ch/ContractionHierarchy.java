@@ -0,0 +1,182 @@
+package project.model.ch;
+
+import project.model.NodeIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Result of contracting a graph. Every node keeps only its upward arcs, the arcs to neighbours contracted after it.
+// An arc with a middle node is a shortcut for the two arcs middle -> from and middle -> to, both of which are stored
+// as upward arcs of the middle node since it was contracted first.
+public class ContractionHierarchy
+{
+	private static final int MAGIC = 0x43484731;
+	private static final int VERSION = 1;
+
+	private final NodeIndex nodeIndex;
+	private final int[] ranks;
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+	private final int[] middles;
+	private final long fingerprint;
+
+	ContractionHierarchy(NodeIndex nodeIndex, int[] ranks, int[] offsets, int[] targets, int[] weights, int[] middles,
+	                     long fingerprint)
+	{
+		this.nodeIndex = nodeIndex;
+		this.ranks = ranks;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.middles = middles;
+		this.fingerprint = fingerprint;
+	}
+
+	public NodeIndex getNodeIndex()
+	{
+		return nodeIndex;
+	}
+
+	public int size()
+	{
+		return nodeIndex.size();
+	}
+
+	public int arcCount()
+	{
+		return targets.length;
+	}
+
+	public int indexOf(int nodeId)
+	{
+		return nodeIndex.indexOf(nodeId);
+	}
+
+	public int idOf(int index)
+	{
+		return nodeIndex.idOf(index);
+	}
+
+	// position of the node in the contraction order
+	public int rank(int index)
+	{
+		return ranks[index];
+	}
+
+	public int firstArc(int index)
+	{
+		return offsets[index];
+	}
+
+	public int endArc(int index)
+	{
+		return offsets[index + 1];
+	}
+
+	public int target(int arc)
+	{
+		return targets[arc];
+	}
+
+	public int weight(int arc)
+	{
+		return weights[arc];
+	}
+
+	// node the shortcut skips, -1 for an original edge
+	public int middle(int arc)
+	{
+		return middles[arc];
+	}
+
+	// fingerprint of the CsrGraph the hierarchy was built from
+	public long getFingerprint()
+	{
+		return fingerprint;
+	}
+
+	// upward arc from the lower ranked node to the other one, -1 if there is none
+	int findArc(int lower, int upper)
+	{
+		for (int arc = offsets[lower]; arc < offsets[lower + 1]; arc++)
+		{
+			if (targets[arc] == upper)
+			{
+				return arc;
+			}
+		}
+
+		return -1;
+	}
+
+	public void save(Path path) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(fingerprint);
+			out.writeInt(size());
+			out.writeInt(arcCount());
+
+			for (int i = 0; i < size(); i++)
+			{
+				out.writeInt(nodeIndex.idOf(i));
+				out.writeInt(ranks[i]);
+				out.writeInt(offsets[i + 1]);
+			}
+
+			for (int arc = 0; arc < arcCount(); arc++)
+			{
+				out.writeInt(targets[arc]);
+				out.writeInt(weights[arc]);
+				out.writeInt(middles[arc]);
+			}
+		}
+	}
+
+	public static ContractionHierarchy load(Path path) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				throw new IOException("Not a contraction hierarchy file: " + path);
+			}
+
+			long fingerprint = in.readLong();
+			int size = in.readInt();
+			int arcCount = in.readInt();
+
+			int[] ids = new int[size];
+			int[] ranks = new int[size];
+			int[] offsets = new int[size + 1];
+
+			for (int i = 0; i < size; i++)
+			{
+				ids[i] = in.readInt();
+				ranks[i] = in.readInt();
+				offsets[i + 1] = in.readInt();
+			}
+
+			int[] targets = new int[arcCount];
+			int[] weights = new int[arcCount];
+			int[] middles = new int[arcCount];
+
+			for (int arc = 0; arc < arcCount; arc++)
+			{
+				targets[arc] = in.readInt();
+				weights[arc] = in.readInt();
+				middles[arc] = in.readInt();
+			}
+
+			return new ContractionHierarchy(new NodeIndex(ids), ranks, offsets, targets, weights, middles, fingerprint);
+		}
+	}
+}
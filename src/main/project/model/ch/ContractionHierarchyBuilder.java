@@ -0,0 +1,326 @@
+package project.model.ch;
+
+import project.model.CsrGraph;
+import project.model.dijkstra.IndexedMinHeap;
+
+import java.util.Arrays;
+
+// Contracts the nodes of a CsrGraph one at a time, cheapest first. Contracting a node removes it from the remaining
+// graph and adds a shortcut between two of its neighbours whenever a bounded witness search cannot find another
+// path between them that is at most as long as the path through the node.
+// The priority of a node is the number of shortcuts it would add, minus its degree, plus the number of its
+// neighbours already contracted. Priorities are only recomputed when a node reaches the top of the queue.
+public class ContractionHierarchyBuilder
+{
+	// a witness search gives up after settling this many nodes and the shortcut is added anyway
+	private static final int DEFAULT_WITNESS_LIMIT = 500;
+
+	private final CsrGraph graph;
+	private final int witnessLimit;
+
+	// arcs of the remaining graph, at most one per neighbour
+	private final int[][] adjacentNodes;
+	private final int[][] adjacentWeights;
+	private final int[][] adjacentMiddles;
+	private final int[] degrees;
+
+	private final int[] ranks;
+	private final int[] contractedNeighbours;
+
+	// upward arcs in contraction order, grouped per node by upwardStart/upwardEnd
+	private int[] upwardFrom = new int[16];
+	private int[] upwardTargets = new int[16];
+	private int[] upwardWeights = new int[16];
+	private int[] upwardMiddles = new int[16];
+	private int numOfUpward = 0;
+
+	// witness search state, reset through the touched nodes
+	private final IndexedMinHeap witnessHeap;
+	private final int[] witnessLValues;
+	private final int[] touched;
+	private int numOfTouched = 0;
+
+	public ContractionHierarchyBuilder(CsrGraph graph)
+	{
+		this(graph, DEFAULT_WITNESS_LIMIT);
+	}
+
+	public ContractionHierarchyBuilder(CsrGraph graph, int witnessLimit)
+	{
+		int size = graph.size();
+
+		this.graph = graph;
+		this.witnessLimit = witnessLimit;
+		this.adjacentNodes = new int[size][];
+		this.adjacentWeights = new int[size][];
+		this.adjacentMiddles = new int[size][];
+		this.degrees = new int[size];
+		this.ranks = new int[size];
+		this.contractedNeighbours = new int[size];
+		this.witnessHeap = new IndexedMinHeap(size);
+		this.witnessLValues = new int[size];
+		this.touched = new int[size];
+
+		Arrays.fill(ranks, -1);
+		Arrays.fill(witnessLValues, -1);
+	}
+
+	public ContractionHierarchy build()
+	{
+		int size = graph.size();
+
+		for (int index = 0; index < size; index++)
+		{
+			int capacity = Math.max(graph.degree(index), 2);
+			adjacentNodes[index] = new int[capacity];
+			adjacentWeights[index] = new int[capacity];
+			adjacentMiddles[index] = new int[capacity];
+		}
+
+		for (int index = 0; index < size; index++)
+		{
+			for (int arc = graph.firstArc(index); arc < graph.endArc(index); arc++)
+			{
+				addOrLower(index, graph.target(arc), graph.weight(arc), -1);
+			}
+		}
+
+		IndexedMinHeap queue = new IndexedMinHeap(size);
+		for (int index = 0; index < size; index++)
+		{
+			queue.insert(index, priority(index));
+		}
+
+		int rank = 0;
+		while (!queue.isEmpty())
+		{
+			int node = queue.poll();
+			int priority = priority(node);
+
+			if (!queue.isEmpty() && priority > queue.getKey(queue.peek()))
+			{
+				queue.insert(node, priority);
+				continue;
+			}
+
+			contract(node);
+			ranks[node] = rank++;
+		}
+
+		return toHierarchy();
+	}
+
+	private int priority(int node)
+	{
+		return contract(node, true) - degrees[node] + contractedNeighbours[node];
+	}
+
+	private void contract(int node)
+	{
+		for (int i = 0; i < degrees[node]; i++)
+		{
+			addUpward(node, adjacentNodes[node][i], adjacentWeights[node][i], adjacentMiddles[node][i]);
+		}
+
+		contract(node, false);
+
+		for (int i = 0; i < degrees[node]; i++)
+		{
+			int neighbour = adjacentNodes[node][i];
+			remove(neighbour, node);
+			contractedNeighbours[neighbour]++;
+		}
+
+		degrees[node] = 0;
+	}
+
+	// returns the number of shortcuts needed to contract the node, adding them unless simulating
+	private int contract(int node, boolean simulate)
+	{
+		int shortcuts = 0;
+		int degree = degrees[node];
+		int[] neighbours = adjacentNodes[node].clone();
+		int[] weights = adjacentWeights[node].clone();
+
+		for (int i = 0; i < degree; i++)
+		{
+			int maxVia = -1;
+			for (int j = i + 1; j < degree; j++)
+			{
+				maxVia = Math.max(maxVia, weights[i] + weights[j]);
+			}
+
+			if (maxVia == -1)
+			{
+				continue;
+			}
+
+			findWitnesses(neighbours[i], node, maxVia);
+
+			for (int j = i + 1; j < degree; j++)
+			{
+				int via = weights[i] + weights[j];
+				int witness = witnessLValues[neighbours[j]];
+
+				if (witness == -1 || witness > via)
+				{
+					shortcuts++;
+
+					if (!simulate)
+					{
+						addOrLower(neighbours[i], neighbours[j], via, node);
+						addOrLower(neighbours[j], neighbours[i], via, node);
+					}
+				}
+			}
+		}
+
+		return shortcuts;
+	}
+
+	// bounded Dijkstra from the source over the remaining graph without the node being contracted
+	private void findWitnesses(int source, int skipped, int maxLValue)
+	{
+		for (int i = 0; i < numOfTouched; i++)
+		{
+			witnessLValues[touched[i]] = -1;
+		}
+
+		numOfTouched = 0;
+		witnessHeap.clear();
+
+		touched[numOfTouched++] = source;
+		witnessLValues[source] = 0;
+		witnessHeap.insert(source, 0);
+
+		int settled = 0;
+		while (!witnessHeap.isEmpty() && settled < witnessLimit)
+		{
+			int current = witnessHeap.poll();
+			settled++;
+
+			if (witnessLValues[current] > maxLValue)
+			{
+				break;
+			}
+
+			for (int i = 0; i < degrees[current]; i++)
+			{
+				int next = adjacentNodes[current][i];
+				int newLValue = witnessLValues[current] + adjacentWeights[current][i];
+
+				if (next == skipped || newLValue > maxLValue)
+				{
+					continue;
+				}
+
+				if (witnessLValues[next] == -1)
+				{
+					touched[numOfTouched++] = next;
+					witnessLValues[next] = newLValue;
+					witnessHeap.insert(next, newLValue);
+				}
+				else if (witnessLValues[next] > newLValue && witnessHeap.contains(next))
+				{
+					witnessLValues[next] = newLValue;
+					witnessHeap.decreaseKey(next, newLValue);
+				}
+			}
+		}
+	}
+
+	private void addOrLower(int from, int to, int weight, int middle)
+	{
+		for (int i = 0; i < degrees[from]; i++)
+		{
+			if (adjacentNodes[from][i] == to)
+			{
+				if (adjacentWeights[from][i] > weight)
+				{
+					adjacentWeights[from][i] = weight;
+					adjacentMiddles[from][i] = middle;
+				}
+
+				return;
+			}
+		}
+
+		if (degrees[from] == adjacentNodes[from].length)
+		{
+			int capacity = degrees[from] * 2;
+			adjacentNodes[from] = Arrays.copyOf(adjacentNodes[from], capacity);
+			adjacentWeights[from] = Arrays.copyOf(adjacentWeights[from], capacity);
+			adjacentMiddles[from] = Arrays.copyOf(adjacentMiddles[from], capacity);
+		}
+
+		adjacentNodes[from][degrees[from]] = to;
+		adjacentWeights[from][degrees[from]] = weight;
+		adjacentMiddles[from][degrees[from]] = middle;
+		degrees[from]++;
+	}
+
+	private void remove(int from, int to)
+	{
+		for (int i = 0; i < degrees[from]; i++)
+		{
+			if (adjacentNodes[from][i] == to)
+			{
+				int last = --degrees[from];
+				adjacentNodes[from][i] = adjacentNodes[from][last];
+				adjacentWeights[from][i] = adjacentWeights[from][last];
+				adjacentMiddles[from][i] = adjacentMiddles[from][last];
+				return;
+			}
+		}
+	}
+
+	private void addUpward(int from, int to, int weight, int middle)
+	{
+		if (numOfUpward == upwardFrom.length)
+		{
+			int capacity = numOfUpward * 2;
+			upwardFrom = Arrays.copyOf(upwardFrom, capacity);
+			upwardTargets = Arrays.copyOf(upwardTargets, capacity);
+			upwardWeights = Arrays.copyOf(upwardWeights, capacity);
+			upwardMiddles = Arrays.copyOf(upwardMiddles, capacity);
+		}
+
+		upwardFrom[numOfUpward] = from;
+		upwardTargets[numOfUpward] = to;
+		upwardWeights[numOfUpward] = weight;
+		upwardMiddles[numOfUpward] = middle;
+		numOfUpward++;
+	}
+
+	private ContractionHierarchy toHierarchy()
+	{
+		int size = graph.size();
+		int[] offsets = new int[size + 1];
+
+		for (int i = 0; i < numOfUpward; i++)
+		{
+			offsets[upwardFrom[i] + 1]++;
+		}
+
+		for (int index = 0; index < size; index++)
+		{
+			offsets[index + 1] += offsets[index];
+		}
+
+		int[] cursor = Arrays.copyOf(offsets, size);
+		int[] targets = new int[numOfUpward];
+		int[] weights = new int[numOfUpward];
+		int[] middles = new int[numOfUpward];
+
+		for (int i = 0; i < numOfUpward; i++)
+		{
+			int arc = cursor[upwardFrom[i]]++;
+			targets[arc] = upwardTargets[i];
+			weights[arc] = upwardWeights[i];
+			middles[arc] = upwardMiddles[i];
+		}
+
+		return new ContractionHierarchy(graph.getNodeIndex(), ranks.clone(), offsets, targets, weights, middles,
+				graph.fingerprint());
+	}
+}
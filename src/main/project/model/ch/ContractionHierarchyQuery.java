@@ -0,0 +1,279 @@
+package project.model.ch;
+
+import project.model.dijkstra.IndexedMinHeap;
+
+import java.util.Arrays;
+
+// Point-to-point query on a ContractionHierarchy. Both searches only follow upward arcs, the forward one from the
+// source and the backward one from the target, and the shortest path runs up to the highest ranked node on it and
+// back down. A side stops once its smallest key is at least the best distance found so far.
+// Shortcuts on the path are unpacked back into original edges by getPath().
+public class ContractionHierarchyQuery
+{
+	private static final int FORWARD = 0;
+	private static final int BACKWARD = 1;
+
+	private final ContractionHierarchy hierarchy;
+	private final IndexedMinHeap[] heaps;
+	private final int[][] lValues;
+	private final int[][] predecessorArcs;
+	private final int[][] predecessors;
+
+	// nodes whose state was touched by the last run, so the next run only resets those
+	private final int[] touched;
+	private int numOfTouched = 0;
+
+	private int meetingNode = -1;
+	private int distance = -1;
+	private int settledCount = 0;
+
+	public ContractionHierarchyQuery(ContractionHierarchy hierarchy)
+	{
+		int size = hierarchy.size();
+
+		this.hierarchy = hierarchy;
+		this.heaps = new IndexedMinHeap[]{new IndexedMinHeap(size), new IndexedMinHeap(size)};
+		this.lValues = new int[2][size];
+		this.predecessorArcs = new int[2][size];
+		this.predecessors = new int[2][size];
+		this.touched = new int[size];
+
+		for (int side = FORWARD; side <= BACKWARD; side++)
+		{
+			Arrays.fill(lValues[side], -1);
+			Arrays.fill(predecessorArcs[side], -1);
+			Arrays.fill(predecessors[side], -1);
+		}
+	}
+
+	// returns the shortest distance between the two nodes, or -1 when the target is unreachable
+	public int run(int sourceId, int targetId)
+	{
+		int source = hierarchy.indexOf(sourceId);
+		int target = hierarchy.indexOf(targetId);
+
+		if (source == -1 || target == -1)
+		{
+			throw new IllegalArgumentException("Starting or target node is not in the hierarchy.");
+		}
+
+		reset();
+
+		update(FORWARD, source, 0, -1, -1);
+		update(BACKWARD, target, 0, -1, -1);
+
+		while (true)
+		{
+			boolean forward = canExpand(FORWARD);
+			boolean backward = canExpand(BACKWARD);
+
+			if (!forward && !backward)
+			{
+				break;
+			}
+
+			if (forward && backward)
+			{
+				int forwardKey = heaps[FORWARD].getKey(heaps[FORWARD].peek());
+				int backwardKey = heaps[BACKWARD].getKey(heaps[BACKWARD].peek());
+				expand(forwardKey <= backwardKey ? FORWARD : BACKWARD);
+			}
+			else
+			{
+				expand(forward ? FORWARD : BACKWARD);
+			}
+		}
+
+		return distance;
+	}
+
+	public int getDistance()
+	{
+		return distance;
+	}
+
+	// node ids from the source to the target of the last run with all shortcuts unpacked,
+	// empty when the target is unreachable
+	public int[] getPath()
+	{
+		if (distance == -1)
+		{
+			return new int[0];
+		}
+
+		PathBuilder path = new PathBuilder();
+
+		// the forward half is walked from the meeting node down to the source, so it is collected and then reversed
+		int forwardLength = 0;
+		for (int index = meetingNode; predecessors[FORWARD][index] != -1; index = predecessors[FORWARD][index])
+		{
+			forwardLength++;
+		}
+
+		int[] forwardArcs = new int[forwardLength];
+		int[] forwardNodes = new int[forwardLength + 1];
+		forwardNodes[forwardLength] = meetingNode;
+
+		int i = forwardLength;
+		for (int index = meetingNode; predecessors[FORWARD][index] != -1; index = predecessors[FORWARD][index])
+		{
+			forwardArcs[--i] = predecessorArcs[FORWARD][index];
+			forwardNodes[i] = predecessors[FORWARD][index];
+		}
+
+		path.add(forwardNodes[0]);
+		for (i = 0; i < forwardLength; i++)
+		{
+			unpack(forwardNodes[i], forwardNodes[i + 1], hierarchy.middle(forwardArcs[i]), path);
+		}
+
+		for (int index = meetingNode; predecessors[BACKWARD][index] != -1; index = predecessors[BACKWARD][index])
+		{
+			int next = predecessors[BACKWARD][index];
+			unpack(index, next, hierarchy.middle(predecessorArcs[BACKWARD][index]), path);
+		}
+
+		return path.toIds();
+	}
+
+	// nodes settled by both directions together, a node settled from both sides counts twice
+	public int getSettledCount()
+	{
+		return settledCount;
+	}
+
+	private boolean canExpand(int side)
+	{
+		return !heaps[side].isEmpty() && (distance == -1 || heaps[side].getKey(heaps[side].peek()) < distance);
+	}
+
+	private void expand(int side)
+	{
+		int other = 1 - side;
+		int current = heaps[side].poll();
+		settledCount++;
+
+		if (lValues[other][current] != -1)
+		{
+			int candidate = lValues[side][current] + lValues[other][current];
+
+			if (distance == -1 || candidate < distance)
+			{
+				distance = candidate;
+				meetingNode = current;
+			}
+		}
+
+		for (int arc = hierarchy.firstArc(current); arc < hierarchy.endArc(current); arc++)
+		{
+			int next = hierarchy.target(arc);
+			int newLValue = lValues[side][current] + hierarchy.weight(arc);
+
+			if (lValues[side][next] == -1 || lValues[side][next] > newLValue)
+			{
+				update(side, next, newLValue, current, arc);
+			}
+		}
+	}
+
+	private void update(int side, int index, int lValue, int predecessor, int arc)
+	{
+		if (lValues[FORWARD][index] == -1 && lValues[BACKWARD][index] == -1)
+		{
+			touched[numOfTouched++] = index;
+		}
+
+		lValues[side][index] = lValue;
+		predecessors[side][index] = predecessor;
+		predecessorArcs[side][index] = arc;
+		heaps[side].offer(index, lValue);
+	}
+
+	// appends the nodes after from up to and including to, replacing each shortcut by the two arcs it skips
+	private void unpack(int from, int to, int middle, PathBuilder path)
+	{
+		int[] stack = new int[24];
+		int top = 0;
+
+		stack[top++] = from;
+		stack[top++] = to;
+		stack[top++] = middle;
+
+		while (top > 0)
+		{
+			int m = stack[--top];
+			int b = stack[--top];
+			int a = stack[--top];
+
+			if (m == -1)
+			{
+				path.add(b);
+				continue;
+			}
+
+			if (top + 6 > stack.length)
+			{
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			}
+
+			// the second half goes on the stack first so that a -> m is unpacked first
+			stack[top++] = m;
+			stack[top++] = b;
+			stack[top++] = hierarchy.middle(hierarchy.findArc(m, b));
+			stack[top++] = a;
+			stack[top++] = m;
+			stack[top++] = hierarchy.middle(hierarchy.findArc(m, a));
+		}
+	}
+
+	private void reset()
+	{
+		for (int i = 0; i < numOfTouched; i++)
+		{
+			int index = touched[i];
+
+			for (int side = FORWARD; side <= BACKWARD; side++)
+			{
+				lValues[side][index] = -1;
+				predecessors[side][index] = -1;
+				predecessorArcs[side][index] = -1;
+			}
+		}
+
+		numOfTouched = 0;
+		heaps[FORWARD].clear();
+		heaps[BACKWARD].clear();
+
+		meetingNode = -1;
+		distance = -1;
+		settledCount = 0;
+	}
+
+	private class PathBuilder
+	{
+		private int[] nodes = new int[16];
+		private int size = 0;
+
+		void add(int index)
+		{
+			if (size == nodes.length)
+			{
+				nodes = Arrays.copyOf(nodes, size * 2);
+			}
+
+			nodes[size++] = index;
+		}
+
+		int[] toIds()
+		{
+			int[] ids = new int[size];
+
+			for (int i = 0; i < size; i++)
+			{
+				ids[i] = hierarchy.idOf(nodes[i]);
+			}
+
+			return ids;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+import java.util.Arrays;
+
+// Point-to-point search that orders the heap by L value plus a heuristic lower bound on the remaining distance.
+// With Heuristic.NONE it is plain Dijkstra with an early exit. A heuristic that is admissible but not consistent
+// can lower the L value of a settled node, in which case that node is queued again.
+// Comparisons are counted as in Engine.HEAP: each arc relaxed (1), each L value lowered (2) and all heap comparisons.
+public class AStar
+{
+	private final CsrGraph graph;
+	private final Heuristic heuristic;
+	private final IndexedMinHeap heap;
+	private final int[] lValues;
+	private final int[] estimates;
+	private final int[] predecessors;
+
+	// nodes whose state was touched by the last run, so the next run only resets those
+	private final int[] touched;
+	private int numOfTouched = 0;
+
+	private int target = -1;
+	private int distance = -1;
+	private int settledCount = 0;
+	private int comparisons = 0;
+
+	public AStar(CsrGraph graph, Heuristic heuristic)
+	{
+		int size = graph.size();
+
+		this.graph = graph;
+		this.heuristic = heuristic;
+		this.heap = new IndexedMinHeap(size);
+		this.lValues = new int[size];
+		this.estimates = new int[size];
+		this.predecessors = new int[size];
+		this.touched = new int[size];
+
+		Arrays.fill(lValues, -1);
+		Arrays.fill(predecessors, -1);
+	}
+
+	public Heuristic getHeuristic()
+	{
+		return heuristic;
+	}
+
+	// returns the shortest distance between the two nodes, or -1 when the target is unreachable
+	public int run(int sourceId, int targetId)
+	{
+		int source = graph.indexOf(sourceId);
+		target = graph.indexOf(targetId);
+
+		if (source == -1 || target == -1)
+		{
+			throw new IllegalArgumentException("Starting or target node is not in the graph.");
+		}
+
+		reset();
+		update(source, 0, -1);
+
+		while (!heap.isEmpty())
+		{
+			int current = heap.poll();
+			settledCount++;
+
+			if (current == target)
+			{
+				distance = lValues[current];
+				break;
+			}
+
+			for (int arc = graph.firstArc(current); arc < graph.endArc(current); arc++)
+			{
+				int next = graph.target(arc);
+				int newLValue = lValues[current] + graph.weight(arc);
+				comparisons++;
+
+				if (lValues[next] == -1 || lValues[next] > newLValue)
+				{
+					comparisons += 2;
+					update(next, newLValue, current);
+				}
+			}
+		}
+
+		comparisons += heap.getComparisons();
+
+		return distance;
+	}
+
+	public int getDistance()
+	{
+		return distance;
+	}
+
+	// node ids from the source to the target of the last run, empty when the target is unreachable
+	public int[] getPath()
+	{
+		if (distance == -1)
+		{
+			return new int[0];
+		}
+
+		int length = 0;
+		for (int index = target; index != -1; index = predecessors[index])
+		{
+			length++;
+		}
+
+		int[] path = new int[length];
+		for (int index = target; index != -1; index = predecessors[index])
+		{
+			path[--length] = graph.idOf(index);
+		}
+
+		return path;
+	}
+
+	// number of times a node was taken off the heap, a reopened node counts again
+	public int getSettledCount()
+	{
+		return settledCount;
+	}
+
+	public int getComparisons()
+	{
+		return comparisons;
+	}
+
+	private void update(int index, int lValue, int predecessor)
+	{
+		if (lValues[index] == -1)
+		{
+			touched[numOfTouched++] = index;
+			estimates[index] = heuristic.estimate(index, target);
+		}
+
+		lValues[index] = lValue;
+		predecessors[index] = predecessor;
+		heap.offer(index, lValue + estimates[index]);
+	}
+
+	private void reset()
+	{
+		for (int i = 0; i < numOfTouched; i++)
+		{
+			int index = touched[i];
+			lValues[index] = -1;
+			predecessors[index] = -1;
+		}
+
+		numOfTouched = 0;
+		heap.clear();
+		heap.resetComparisons();
+
+		distance = -1;
+		settledCount = 0;
+		comparisons = 0;
+	}
+}
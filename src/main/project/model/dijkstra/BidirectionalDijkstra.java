@@ -0,0 +1,224 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+import java.util.Arrays;
+
+// Point-to-point search that runs Dijkstra forward from the source and backward from the target at the same time.
+// Edges are undirected, so both directions walk the same CsrGraph. The search stops once the smallest keys of the
+// two heaps add up to at least the best source -> meeting node -> target distance found so far.
+// Comparisons are counted as in Engine.HEAP: each arc relaxed (1), each L value lowered (2) and all heap comparisons.
+public class BidirectionalDijkstra
+{
+	private static final int FORWARD = 0;
+	private static final int BACKWARD = 1;
+
+	private final CsrGraph graph;
+	private final IndexedMinHeap[] heaps;
+	private final int[][] lValues;
+	private final int[][] predecessors;
+	private final boolean[][] settled;
+
+	// nodes whose state was touched by the last run, so the next run only resets those
+	private final int[] touched;
+	private int numOfTouched = 0;
+
+	private int source = -1;
+	private int target = -1;
+	// the best path found runs forward from the source to meetForward, then along one arc (or none) to meetBackward
+	private int meetForward = -1;
+	private int meetBackward = -1;
+	private int distance = -1;
+	private int settledCount = 0;
+	private int comparisons = 0;
+
+	public BidirectionalDijkstra(CsrGraph graph)
+	{
+		int size = graph.size();
+
+		this.graph = graph;
+		this.heaps = new IndexedMinHeap[]{new IndexedMinHeap(size), new IndexedMinHeap(size)};
+		this.lValues = new int[2][size];
+		this.predecessors = new int[2][size];
+		this.settled = new boolean[2][size];
+		this.touched = new int[size];
+
+		for (int side = FORWARD; side <= BACKWARD; side++)
+		{
+			Arrays.fill(lValues[side], -1);
+			Arrays.fill(predecessors[side], -1);
+		}
+	}
+
+	// returns the shortest distance between the two nodes, or -1 when the target is unreachable
+	public int run(int sourceId, int targetId)
+	{
+		source = graph.indexOf(sourceId);
+		target = graph.indexOf(targetId);
+
+		if (source == -1 || target == -1)
+		{
+			throw new IllegalArgumentException("Starting or target node is not in the graph.");
+		}
+
+		reset();
+
+		update(FORWARD, source, 0, -1);
+		update(BACKWARD, target, 0, -1);
+
+		if (source == target)
+		{
+			meetForward = source;
+			meetBackward = source;
+			distance = 0;
+			settledCount = 1;
+			return distance;
+		}
+
+		while (!heaps[FORWARD].isEmpty() && !heaps[BACKWARD].isEmpty())
+		{
+			int forwardKey = heaps[FORWARD].getKey(heaps[FORWARD].peek());
+			int backwardKey = heaps[BACKWARD].getKey(heaps[BACKWARD].peek());
+
+			if (distance != -1 && forwardKey + backwardKey >= distance)
+			{
+				break;
+			}
+
+			// expands the side with the smaller frontier
+			expand(heaps[FORWARD].size() <= heaps[BACKWARD].size() ? FORWARD : BACKWARD);
+		}
+
+		comparisons += heaps[FORWARD].getComparisons() + heaps[BACKWARD].getComparisons();
+
+		return distance;
+	}
+
+	public int getDistance()
+	{
+		return distance;
+	}
+
+	// node ids from the source to the target of the last run, empty when the target is unreachable
+	public int[] getPath()
+	{
+		if (distance == -1)
+		{
+			return new int[0];
+		}
+
+		int backwardStart = meetForward == meetBackward ? predecessors[BACKWARD][meetBackward] : meetBackward;
+
+		int forwardLength = 0;
+		for (int index = meetForward; index != -1; index = predecessors[FORWARD][index])
+		{
+			forwardLength++;
+		}
+
+		int backwardLength = 0;
+		for (int index = backwardStart; index != -1; index = predecessors[BACKWARD][index])
+		{
+			backwardLength++;
+		}
+
+		int[] path = new int[forwardLength + backwardLength];
+
+		int i = forwardLength - 1;
+		for (int index = meetForward; index != -1; index = predecessors[FORWARD][index])
+		{
+			path[i--] = graph.idOf(index);
+		}
+
+		i = forwardLength;
+		for (int index = backwardStart; index != -1; index = predecessors[BACKWARD][index])
+		{
+			path[i++] = graph.idOf(index);
+		}
+
+		return path;
+	}
+
+	// nodes settled by both directions together, a node settled from both sides counts twice
+	public int getSettledCount()
+	{
+		return settledCount;
+	}
+
+	public int getComparisons()
+	{
+		return comparisons;
+	}
+
+	private void expand(int side)
+	{
+		int other = 1 - side;
+		int current = heaps[side].poll();
+		settled[side][current] = true;
+		settledCount++;
+
+		for (int arc = graph.firstArc(current); arc < graph.endArc(current); arc++)
+		{
+			int next = graph.target(arc);
+			int newLValue = lValues[side][current] + graph.weight(arc);
+			comparisons++;
+
+			if (!settled[side][next] && (lValues[side][next] == -1 || lValues[side][next] > newLValue))
+			{
+				comparisons += 2;
+				update(side, next, newLValue, current);
+			}
+
+			// a path through this arc reaches the other search
+			if (lValues[other][next] != -1)
+			{
+				int candidate = newLValue + lValues[other][next];
+
+				if (distance == -1 || candidate < distance)
+				{
+					distance = candidate;
+					meetForward = side == FORWARD ? current : next;
+					meetBackward = side == FORWARD ? next : current;
+				}
+			}
+		}
+	}
+
+	private void update(int side, int index, int lValue, int predecessor)
+	{
+		if (lValues[FORWARD][index] == -1 && lValues[BACKWARD][index] == -1)
+		{
+			touched[numOfTouched++] = index;
+		}
+
+		lValues[side][index] = lValue;
+		predecessors[side][index] = predecessor;
+		heaps[side].offer(index, lValue);
+	}
+
+	private void reset()
+	{
+		for (int i = 0; i < numOfTouched; i++)
+		{
+			int index = touched[i];
+
+			for (int side = FORWARD; side <= BACKWARD; side++)
+			{
+				lValues[side][index] = -1;
+				predecessors[side][index] = -1;
+				settled[side][index] = false;
+			}
+		}
+
+		numOfTouched = 0;
+		heaps[FORWARD].clear();
+		heaps[BACKWARD].clear();
+		heaps[FORWARD].resetComparisons();
+		heaps[BACKWARD].resetComparisons();
+
+		meetForward = -1;
+		meetBackward = -1;
+		distance = -1;
+		settledCount = 0;
+		comparisons = 0;
+	}
+}
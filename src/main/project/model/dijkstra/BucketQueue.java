@@ -0,0 +1,188 @@
+package project.model.dijkstra;
+
+import java.util.Arrays;
+
+// Dial's bucket queue for monotone keys: no key may be below the last one polled. With arc weights of at most
+// maxWeight, every queued key lies within maxWeight of the last polled key, so maxWeight + 1 circular buckets are
+// enough. Each bucket is a doubly linked FIFO list of indices, which makes insert, decrease-key and taking the head
+// O(1), while poll scans forward over at most maxWeight empty buckets.
+// Equal keys are polled in the order they were queued, not smallest index first as in IndexedMinHeap, so ties can be
+// visited in a different order than with the heap. Comparisons count every bucket inspected.
+public class BucketQueue implements MinQueue
+{
+	// above this the buckets cost more memory than they save, and MinQueue.of falls back to a heap
+	public static final int MAX_WEIGHT = 1 << 16;
+
+	private final int[] heads;
+	private final int[] tails;
+	private final int[] next;
+	private final int[] previous;
+	private final int[] keys;
+	private final boolean[] queued;
+	private final int maxWeight;
+
+	// key of the last polled index, the lower bound for every key offered after it
+	private int current = 0;
+	private int size = 0;
+	private int comparisons = 0;
+
+	public BucketQueue(int capacity, int maxWeight)
+	{
+		if (maxWeight < 0 || maxWeight > MAX_WEIGHT)
+		{
+			throw new IllegalArgumentException("Maximum weight must be between 0 and " + MAX_WEIGHT + ".");
+		}
+
+		this.maxWeight = maxWeight;
+		this.heads = new int[maxWeight + 1];
+		this.tails = new int[maxWeight + 1];
+		this.next = new int[capacity];
+		this.previous = new int[capacity];
+		this.keys = new int[capacity];
+		this.queued = new boolean[capacity];
+
+		Arrays.fill(heads, -1);
+		Arrays.fill(tails, -1);
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int index)
+	{
+		return queued[index];
+	}
+
+	public int getKey(int index)
+	{
+		return keys[index];
+	}
+
+	@Override
+	public void offer(int index, int key)
+	{
+		if (key < current || key > current + maxWeight)
+		{
+			throw new IllegalArgumentException("Key " + key + " is outside the bucket range.");
+		}
+
+		if (queued[index])
+		{
+			if (key > keys[index])
+			{
+				throw new IllegalArgumentException("Key of index " + index + " cannot be increased.");
+			}
+
+			unlink(index);
+		}
+
+		keys[index] = key;
+		link(index);
+	}
+
+	@Override
+	public int poll()
+	{
+		if (size == 0)
+		{
+			throw new IllegalStateException("Queue is empty.");
+		}
+
+		int bucket = current % heads.length;
+		comparisons++;
+
+		while (heads[bucket] == -1)
+		{
+			current++;
+			bucket = current % heads.length;
+			comparisons++;
+		}
+
+		int index = heads[bucket];
+		unlink(index);
+
+		return index;
+	}
+
+	@Override
+	public void clear()
+	{
+		for (int bucket = 0; bucket < heads.length && size > 0; bucket++)
+		{
+			while (heads[bucket] != -1)
+			{
+				unlink(heads[bucket]);
+			}
+		}
+
+		current = 0;
+	}
+
+	@Override
+	public int getComparisons()
+	{
+		return comparisons;
+	}
+
+	@Override
+	public void resetComparisons()
+	{
+		comparisons = 0;
+	}
+
+	private void link(int index)
+	{
+		int bucket = keys[index] % heads.length;
+
+		previous[index] = tails[bucket];
+		next[index] = -1;
+
+		if (tails[bucket] == -1)
+		{
+			heads[bucket] = index;
+		}
+		else
+		{
+			next[tails[bucket]] = index;
+		}
+
+		tails[bucket] = index;
+		queued[index] = true;
+		size++;
+	}
+
+	private void unlink(int index)
+	{
+		int bucket = keys[index] % heads.length;
+
+		if (previous[index] == -1)
+		{
+			heads[bucket] = next[index];
+		}
+		else
+		{
+			next[previous[index]] = next[index];
+		}
+
+		if (next[index] == -1)
+		{
+			tails[bucket] = previous[index];
+		}
+		else
+		{
+			previous[next[index]] = previous[index];
+		}
+
+		queued[index] = false;
+		size--;
+	}
+}
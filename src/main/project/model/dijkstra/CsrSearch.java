@@ -0,0 +1,235 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+import java.util.Arrays;
+
+// Dijkstra's algorithm over a CsrGraph snapshot, working on dense indices only.
+// The queues and the L value, predecessor and visited arrays are kept between runs, so one instance can serve many
+// queries on the same snapshot. A run only resets the nodes the previous run reached, and run copies its arrays out
+// into the ShortestPaths it returns; distance answers a single pair without that copy.
+public class CsrSearch
+{
+	private final CsrGraph graph;
+	private final IndexedMinHeap heap;
+	private MinQueue buckets;
+	private final int[] lValues;
+	private final int[] predecessors;
+	private final boolean[] visited;
+	// indices whose L value the current run has set, in the order they were reached
+	private final int[] touched;
+	private int numOfTouched = 0;
+	private int comparisons = 0;
+
+	public CsrSearch(CsrGraph graph)
+	{
+		this.graph = graph;
+		this.heap = new IndexedMinHeap(graph.size());
+		this.lValues = new int[graph.size()];
+		this.predecessors = new int[graph.size()];
+		this.visited = new boolean[graph.size()];
+		this.touched = new int[graph.size()];
+
+		Arrays.fill(lValues, -1);
+		Arrays.fill(predecessors, -1);
+	}
+
+	public CsrGraph getGraph()
+	{
+		return graph;
+	}
+
+	public ShortestPaths run(int source, Engine engine)
+	{
+		return run(source, -1, engine);
+	}
+
+	// A target of -1 settles every reachable node, otherwise the run stops as soon as the target is settled
+	public ShortestPaths run(int source, int target, Engine engine)
+	{
+		int settled = search(source, target, engine);
+
+		return result(source, settled);
+	}
+
+	// L value of the target, -1 when it cannot be reached; the run stops as soon as the target is settled
+	public int distance(int source, int target, Engine engine)
+	{
+		search(source, target, engine);
+
+		return lValues[target];
+	}
+
+	// L values of a run that settles every reachable node, copied into target from offset on rather than into a new
+	// ShortestPaths
+	public void runInto(int source, Engine engine, int[] target, int offset)
+	{
+		search(source, -1, engine);
+		System.arraycopy(lValues, 0, target, offset, lValues.length);
+	}
+
+	private int search(int source, int target, Engine engine)
+	{
+		switch (engine)
+		{
+			case HEAP:
+				return searchWithQueue(source, target, heap);
+			case BUCKET:
+				return searchWithQueue(source, target, buckets());
+			default:
+				return searchLinear(source, target);
+		}
+	}
+
+	public ShortestPaths runWithHeap(int source, int target)
+	{
+		return run(source, target, Engine.HEAP);
+	}
+
+	// Dial's algorithm, or the heap when the largest weight is too big for a bucket queue
+	public ShortestPaths runWithBuckets(int source, int target)
+	{
+		return run(source, target, Engine.BUCKET);
+	}
+
+	private MinQueue buckets()
+	{
+		if (buckets == null)
+		{
+			buckets = MinQueue.of(Engine.BUCKET, graph.size(), graph.maxWeight());
+		}
+
+		return buckets;
+	}
+
+	private int searchWithQueue(int source, int target, MinQueue queue)
+	{
+		startRun(source);
+		int settled = 0;
+
+		queue.clear();
+		queue.resetComparisons();
+		queue.offer(source, 0);
+
+		while (!queue.isEmpty())
+		{
+			int current = queue.poll();
+			relax(current, queue);
+			settled++;
+
+			if (current == target)
+			{
+				break;
+			}
+		}
+
+		comparisons += queue.getComparisons();
+
+		return settled;
+	}
+
+	public ShortestPaths runLinear(int source, int target)
+	{
+		return run(source, target, Engine.LINEAR);
+	}
+
+	private int searchLinear(int source, int target)
+	{
+		startRun(source);
+		int settled = 0;
+		int current = source;
+
+		while (current != -1)
+		{
+			relax(current, null);
+			settled++;
+
+			if (current == target)
+			{
+				break;
+			}
+
+			current = findSmallestUnvisited();
+		}
+
+		return settled;
+	}
+
+	public int getComparisons()
+	{
+		return comparisons;
+	}
+
+	// undoes the previous run, which only changed the nodes it reached
+	private void startRun(int source)
+	{
+		for (int i = 0; i < numOfTouched; i++)
+		{
+			int index = touched[i];
+			lValues[index] = -1;
+			predecessors[index] = -1;
+			visited[index] = false;
+		}
+
+		numOfTouched = 0;
+		touched[numOfTouched++] = source;
+		lValues[source] = 0;
+		comparisons = 1;
+	}
+
+	private ShortestPaths result(int source, int settled)
+	{
+		return new ShortestPaths(graph.getNodeIndex(), source, lValues.clone(), predecessors.clone(), settled);
+	}
+
+	// the queue is null for the linear engine, which scans for the next node instead
+	private void relax(int current, MinQueue queue)
+	{
+		visited[current] = true;
+
+		for (int arc = graph.firstArc(current); arc < graph.endArc(current); arc++)
+		{
+			int next = graph.target(arc);
+			int newLValue = lValues[current] + graph.weight(arc);
+			comparisons++;
+
+			if (!visited[next] && (lValues[next] == -1 || lValues[next] > newLValue))
+			{
+				comparisons += 2;
+				if (lValues[next] == -1)
+				{
+					touched[numOfTouched++] = next;
+				}
+				lValues[next] = newLValue;
+				predecessors[next] = current;
+
+				if (queue != null)
+				{
+					queue.offer(next, newLValue);
+				}
+			}
+		}
+	}
+
+	private int findSmallestUnvisited()
+	{
+		int smallest = -1;
+
+		for (int i = 0; i < lValues.length; i++)
+		{
+			if (visited[i])
+			{
+				comparisons++;
+				continue;
+			}
+
+			if (lValues[i] > 0 && (smallest == -1 || lValues[i] < lValues[smallest]))
+			{
+				comparisons += 2;
+				smallest = i;
+			}
+		}
+
+		return smallest;
+	}
+}
@@ -0,0 +1,290 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Parallel single-source search. Nodes are kept in buckets of width delta by their tentative L value. The smallest
+// bucket is emptied by relaxing its light arcs (weight <= delta) in parallel until no node falls back into it,
+// then the heavy arcs of every node removed from it are relaxed in one more parallel pass.
+// L values are lowered with compare-and-set, so they match Dijkstra exactly. Predecessors are picked afterwards
+// from any neighbour on a shortest path, which may differ from Dijkstra when two paths have the same length.
+public class DeltaStepping
+{
+	private static final int INFINITY = Integer.MAX_VALUE;
+	// frontiers smaller than this are relaxed by a single task
+	private static final int SEQUENTIAL_THRESHOLD = 256;
+
+	private final CsrGraph graph;
+	private final int delta;
+	private final ForkJoinPool pool;
+
+	private AtomicIntegerArray lValues;
+	private final ConcurrentLinkedQueue<int[]> lowered = new ConcurrentLinkedQueue<>();
+
+	public DeltaStepping(CsrGraph graph, ForkJoinPool pool)
+	{
+		this(graph, averageWeight(graph), pool);
+	}
+
+	public DeltaStepping(CsrGraph graph, int delta, ForkJoinPool pool)
+	{
+		if (delta < 1)
+		{
+			throw new IllegalArgumentException("Delta must be greater than 0.");
+		}
+
+		this.graph = graph;
+		this.delta = delta;
+		this.pool = pool;
+	}
+
+	// average arc weight, a reasonable bucket width when nothing else is known about the graph
+	private static int averageWeight(CsrGraph graph)
+	{
+		long total = 0;
+
+		for (int arc = 0; arc < graph.arcCount(); arc++)
+		{
+			total += graph.weight(arc);
+		}
+
+		return graph.arcCount() == 0 ? 1 : (int) Math.max(1, total / graph.arcCount());
+	}
+
+	public int getDelta()
+	{
+		return delta;
+	}
+
+	public ShortestPaths run(int sourceId)
+	{
+		int source = graph.indexOf(sourceId);
+
+		if (source == -1)
+		{
+			throw new IllegalArgumentException("Starting node is not in the graph.");
+		}
+
+		int size = graph.size();
+		lValues = new AtomicIntegerArray(size);
+		for (int index = 0; index < size; index++)
+		{
+			lValues.set(index, INFINITY);
+		}
+
+		lValues.set(source, 0);
+
+		TreeMap<Integer, IntList> buckets = new TreeMap<>();
+		buckets.computeIfAbsent(0, bucket -> new IntList()).add(source);
+
+		// L value each node was last taken with, so duplicates in a bucket are only relaxed once per pass
+		int[] takenFrom = new int[size];
+		Arrays.fill(takenFrom, -1);
+		boolean[] removed = new boolean[size];
+
+		while (!buckets.isEmpty())
+		{
+			int bucket = buckets.firstKey();
+			IntList settled = new IntList();
+
+			while (buckets.containsKey(bucket))
+			{
+				IntList frontier = take(buckets.remove(bucket), bucket, takenFrom);
+
+				for (int i = 0; i < frontier.size; i++)
+				{
+					if (!removed[frontier.values[i]])
+					{
+						removed[frontier.values[i]] = true;
+						settled.add(frontier.values[i]);
+					}
+				}
+
+				relax(frontier, true);
+				fill(buckets);
+			}
+
+			relax(settled, false);
+			fill(buckets);
+
+			for (int i = 0; i < settled.size; i++)
+			{
+				removed[settled.values[i]] = false;
+			}
+		}
+
+		return toShortestPaths(source);
+	}
+
+	// nodes of the bucket whose L value still belongs to it, each at most once
+	private IntList take(IntList nodes, int bucket, int[] takenFrom)
+	{
+		IntList frontier = new IntList();
+
+		for (int i = 0; i < nodes.size; i++)
+		{
+			int index = nodes.values[i];
+
+			if (lValues.get(index) / delta == bucket && takenFrom[index] != lValues.get(index))
+			{
+				takenFrom[index] = lValues.get(index);
+				frontier.add(index);
+			}
+		}
+
+		return frontier;
+	}
+
+	private void relax(IntList frontier, boolean light)
+	{
+		if (frontier.size > 0)
+		{
+			pool.invoke(new Relaxation(frontier.values, 0, frontier.size, light));
+		}
+	}
+
+	// moves every node lowered by the last pass into the bucket of its new L value
+	private void fill(TreeMap<Integer, IntList> buckets)
+	{
+		int[] chunk;
+
+		while ((chunk = lowered.poll()) != null)
+		{
+			for (int i = 1; i <= chunk[0]; i++)
+			{
+				int index = chunk[i];
+				buckets.computeIfAbsent(lValues.get(index) / delta, bucket -> new IntList()).add(index);
+			}
+		}
+	}
+
+	private ShortestPaths toShortestPaths(int source)
+	{
+		int size = graph.size();
+		int[] result = new int[size];
+		int[] predecessors = new int[size];
+		int settledCount = 0;
+
+		for (int index = 0; index < size; index++)
+		{
+			int lValue = lValues.get(index);
+			result[index] = lValue == INFINITY ? -1 : lValue;
+			predecessors[index] = -1;
+
+			if (lValue == INFINITY)
+			{
+				continue;
+			}
+
+			settledCount++;
+
+			for (int arc = graph.firstArc(index); arc < graph.endArc(index) && index != source; arc++)
+			{
+				int previous = lValues.get(graph.target(arc));
+
+				if (previous != INFINITY && previous + graph.weight(arc) == lValue)
+				{
+					predecessors[index] = graph.target(arc);
+					break;
+				}
+			}
+		}
+
+		return new ShortestPaths(graph.getNodeIndex(), source, result, predecessors, settledCount);
+	}
+
+	private class Relaxation extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int[] frontier;
+		private final int from;
+		private final int to;
+		private final boolean light;
+
+		Relaxation(int[] frontier, int from, int to, boolean light)
+		{
+			this.frontier = frontier;
+			this.from = from;
+			this.to = to;
+			this.light = light;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new Relaxation(frontier, from, middle, light), new Relaxation(frontier, middle, to, light));
+				return;
+			}
+
+			// first slot holds the number of nodes in the chunk
+			int[] chunk = new int[16];
+			int count = 0;
+
+			for (int i = from; i < to; i++)
+			{
+				int current = frontier[i];
+				int lValue = lValues.get(current);
+
+				for (int arc = graph.firstArc(current); arc < graph.endArc(current); arc++)
+				{
+					if ((graph.weight(arc) <= delta) != light)
+					{
+						continue;
+					}
+
+					int next = graph.target(arc);
+					int newLValue = lValue + graph.weight(arc);
+					int oldLValue = lValues.get(next);
+
+					while (newLValue < oldLValue)
+					{
+						if (lValues.compareAndSet(next, oldLValue, newLValue))
+						{
+							if (++count == chunk.length)
+							{
+								chunk = Arrays.copyOf(chunk, chunk.length * 2);
+							}
+
+							chunk[count] = next;
+							break;
+						}
+
+						oldLValue = lValues.get(next);
+					}
+				}
+			}
+
+			if (count > 0)
+			{
+				chunk[0] = count;
+				lowered.add(chunk);
+			}
+		}
+	}
+
+	private static class IntList
+	{
+		private int[] values = new int[8];
+		private int size = 0;
+
+		void add(int value)
+		{
+			if (size == values.length)
+			{
+				values = Arrays.copyOf(values, size * 2);
+			}
+
+			values[size++] = value;
+		}
+	}
+}
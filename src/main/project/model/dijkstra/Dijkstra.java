@@ -1,8 +1,13 @@
 package project.model.dijkstra;
 
+import project.model.CsrGraph;
 import project.model.Graph;
+import project.model.Neighbour;
+import project.model.NodeIndex;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -13,14 +18,33 @@ public class Dijkstra extends Graph {
     private int comparisons = 0;
     private final NodeMap unvisitedNodes;
     private final NodeMap visitedNodes;
-    private final Map<String[], String[]> steps = new LinkedHashMap<>();
-    private int numOfNodes;
+    private Engine engine;
+    private ShortestPaths lastResult;
+    private int settledCount = 0;
+
+    // per-run state, the log is null when steps are not recorded and the target is null when every node is settled
+    private Node target;
+    private NodeIndex nodeIndex;
+    private int[] predecessors;
+    private StepLog log;
 
     public Dijkstra(List<Node> nodes, List<Edge> edges) {
+        this(nodes, edges, Engine.LINEAR);
+    }
+
+    public Dijkstra(List<Node> nodes, List<Edge> edges, Engine engine) {
         super(nodes, edges);
         this.unvisitedNodes = new NodeMap(nodes);
         this.visitedNodes = new NodeMap();
-        this.numOfNodes = nodes.size();
+        this.engine = engine;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
     }
 
     public NodeMap getUnvisitedNodes() {
@@ -30,11 +54,128 @@ public class Dijkstra extends Graph {
     public void updateNodes(List<Node> nodes) {
         this.unvisitedNodes.update(nodes);
         this.visitedNodes.clear();
-        this.numOfNodes = nodes.size();
+        this.lastResult = null;
     }
 
     // Dijkstra's Algorithm
     public Map<String[], String[]> run(Node startingNode) {
+        // returns the L values of every step as a Map<String[], String[]>
+        return record(startingNode).toStepMap();
+    }
+
+    // Runs while logging each iteration as primitive deltas, the String[] steps are only built when asked for
+    public StepLog record(Node startingNode) {
+        validateStartingNode(startingNode);
+
+        StepLog stepLog = new StepLog(unvisitedNodes.getNodes());
+        search(startingNode, stepLog);
+
+        return stepLog;
+    }
+
+    // Runs without recording any steps and returns only the final L values and predecessors
+    public ShortestPaths solve(Node startingNode) {
+        validateStartingNode(startingNode);
+
+        return search(startingNode, null);
+    }
+
+    // Point-to-point query: stops as soon as the target is settled, without recording steps
+    public ShortestPaths run(Node startingNode, Node targetNode) {
+        validateStartingNode(startingNode);
+
+        if (targetNode == null || !unvisitedNodes.contains(targetNode)) {
+            throw new IllegalArgumentException("Target node is not in the graph.");
+        }
+
+        target = targetNode;
+        try {
+            return search(startingNode, null);
+        } finally {
+            target = null;
+        }
+    }
+
+    // Runs on an immutable snapshot instead of the node and edge lists, without recording steps
+    public ShortestPaths run(CsrGraph graph, int startingNodeId) {
+        int source = graph.indexOf(startingNodeId);
+
+        if (source == -1) {
+            throw new IllegalArgumentException("Starting node is not in the graph.");
+        }
+
+        CsrSearch search = new CsrSearch(graph);
+        ShortestPaths shortestPaths = search.run(source, -1, engine);
+        comparisons = search.getComparisons();
+        settledCount = shortestPaths.getSettledCount();
+
+        return shortestPaths;
+    }
+
+    // Point-to-point query on a snapshot, stops as soon as the target is settled
+    public ShortestPaths run(CsrGraph graph, int startingNodeId, int targetNodeId) {
+        int source = graph.indexOf(startingNodeId);
+        int targetIndex = graph.indexOf(targetNodeId);
+
+        if (source == -1 || targetIndex == -1) {
+            throw new IllegalArgumentException("Starting or target node is not in the graph.");
+        }
+
+        CsrSearch search = new CsrSearch(graph);
+        ShortestPaths shortestPaths = search.run(source, targetIndex, engine);
+        comparisons = search.getComparisons();
+        settledCount = shortestPaths.getSettledCount();
+
+        return shortestPaths;
+    }
+
+    public ShortestPaths getLastResult() {
+        return lastResult;
+    }
+
+    // Nodes on the shortest path from the last run's starting node to the target, empty when it is unreachable
+    public List<Node> getPath(Node target) {
+        checkLastResult(target);
+
+        int[] path = lastResult.getPath(target.getId());
+        List<Node> nodesOnPath = new ArrayList<>(path.length);
+
+        for (int nodeId : path) {
+            nodesOnPath.add(unvisitedNodes.getNode(nodeId));
+        }
+
+        return nodesOnPath;
+    }
+
+    // Maps every reached node, apart from the starting node, to the node before it on its shortest path
+    public Map<Node, Node> getShortestPathTree() {
+        checkLastResult(null);
+
+        Map<Node, Node> tree = new LinkedHashMap<>();
+        NodeIndex index = lastResult.getNodeIndex();
+
+        for (int i = 0; i < lastResult.size(); i++) {
+            int predecessor = lastResult.getPredecessorAt(i);
+
+            if (predecessor != -1) {
+                tree.put(unvisitedNodes.getNode(index.idOf(i)), unvisitedNodes.getNode(index.idOf(predecessor)));
+            }
+        }
+
+        return tree;
+    }
+
+    private void checkLastResult(Node target) {
+        if (lastResult == null) {
+            throw new IllegalStateException("Dijkstra has not been run yet.");
+        }
+
+        if (target != null && !lastResult.getNodeIndex().contains(target.getId())) {
+            throw new IllegalArgumentException("Target node is not in the graph.");
+        }
+    }
+
+    private void validateStartingNode(Node startingNode) {
         if (startingNode == null) {
             throw new IllegalArgumentException("Starting node cannot be null.");
         }
@@ -42,83 +183,149 @@ public class Dijkstra extends Graph {
         if (!unvisitedNodes.contains(startingNode)) {
             throw new IllegalArgumentException("Starting node is not in the graph.");
         }
+    }
+
+    private ShortestPaths search(Node startingNode, StepLog stepLog) {
+        List<Node> order = new ArrayList<>(unvisitedNodes.getNodes());
 
         comparisons = 0;
+        visitedNodes.clear();
+        nodeIndex = NodeIndex.of(order);
+        predecessors = new int[order.size()];
+        Arrays.fill(predecessors, -1);
+        log = stepLog;
 
-        if (!steps.isEmpty()) {
-            steps.clear();
-        }
+        int[] lValues = engine == Engine.LINEAR ? runLinear(startingNode, order) : runWithQueue(startingNode, order);
+
+        ShortestPaths shortestPaths = new ShortestPaths(nodeIndex, nodeIndex.indexOf(startingNode.getId()),
+                lValues, predecessors, settledCount);
 
-        instantiateSteps();
+        nodeIndex = null;
+        predecessors = null;
+        log = null;
+        lastResult = shortestPaths;
+
+        return shortestPaths;
+    }
 
+    private int[] runLinear(Node startingNode, List<Node> order) {
         // runs an initial pass on the nodes to set the L values
         findInitialLValues(startingNode);
 
-        while (visitedNodes.size() < unvisitedNodes.size()) {
-            // adds the current L values, in unvisitedNodes, to steps as a String[]
-            updateSteps();
-
+        while (visitedNodes.size() < unvisitedNodes.size() && !isTarget(startingNode)) {
             // finds the node with the lowest L value
             Node nextNode = findNodeWithSmallestLValue();
 
             if (nextNode == null) {
+                if (log != null) {
+                    log.stalled();
+                }
                 break;
             }
 
             // updates unvisitedNodes with the new L values and flags the node as visited
             findSubsequentLValues(nextNode);
+
+            if (isTarget(nextNode)) {
+                break;
+            }
         }
 
-        updateSteps();
+        settledCount = visitedNodes.size();
+
+        int[] lValues = new int[order.size()];
+
+        for (int i = 0; i < lValues.length; i++) {
+            lValues[i] = unvisitedNodes.getLValue(order.get(i).getId());
+        }
 
-        // returns the final L values as a List<String[]>
-        return steps;
+        return lValues;
     }
 
-    private void instantiateSteps() {
-        int index = 0;
+    // The next node comes from an indexed heap or a bucket queue; the heap visits in the same order as the linear scan,
+    // the bucket queue takes nodes with equal L values in the order they were reached
+    private int[] runWithQueue(Node startingNode, List<Node> order) {
+        int[] lValues = new int[order.size()];
+        Arrays.fill(lValues, -1);
+        boolean[] visited = new boolean[order.size()];
+        int numOfVisited = 0;
+
+        MinQueue queue = MinQueue.of(engine, order.size(), engine == Engine.BUCKET ? getMaxWeight() : 0);
+        int current = nodeIndex.indexOf(startingNode.getId());
+        setLValue(current, 0, lValues);
+        comparisons++;
+
+        while (current != -1) {
+            for (Neighbour neighbour : getNeighbours(order.get(current))) {
+                int next = nodeIndex.indexOf(neighbour.getNode().getId());
+
+                if (next == -1) {
+                    continue;
+                }
 
-        String[] nodeNames = new String[numOfNodes];
+                int newLValue = lValues[current] + neighbour.getWeight();
+                comparisons++;
 
-        for (Node node : unvisitedNodes.getNodes()) {
-            nodeNames[index] = node.getName();
-            index++;
+                if (!visited[next] && (lValues[next] == -1 || lValues[next] > newLValue)) {
+                    comparisons += 2;
+                    setLValue(next, newLValue, lValues);
+                    predecessors[next] = current;
+                    queue.offer(next, newLValue);
+                }
+            }
+
+            visited[current] = true;
+            numOfVisited++;
+
+            if (log != null) {
+                log.visited(current);
+            }
+
+            if (numOfVisited >= order.size() || isTarget(order.get(current))) {
+                break;
+            }
+
+            if (queue.isEmpty()) {
+                if (log != null) {
+                    log.stalled();
+                }
+                break;
+            }
+
+            current = queue.poll();
         }
 
-        steps.put(new String[]{"Tv"}, nodeNames);
+        comparisons += queue.getComparisons();
+        settledCount = numOfVisited;
+
+        return lValues;
     }
 
-    private void updateSteps() {
-        String[] nodeIds = new String[visitedNodes.size()];
-        String[] lValues = new String[numOfNodes];
+    private boolean isTarget(Node node) {
+        return target != null && target.getId() == node.getId();
+    }
 
-        int index = 0;
-        for (Node node : visitedNodes.getNodes()) {
-            nodeIds[index++] = String.valueOf(node.getId());
-        }
+    private void setLValue(int index, int lValue, int[] lValues) {
+        lValues[index] = lValue;
 
-        index = 0;
-        for (Node node : unvisitedNodes.getNodes()) {
-            lValues[index++] = unvisitedNodes.getLValueByNodeId(node.getId()).toString();
+        if (log != null) {
+            log.relaxed(index, lValue);
         }
-
-        steps.put(nodeIds, lValues);
     }
 
     private void findInitialLValues(Node startingNode) {
-        // first pass of L values
+        // first pass of L values, -1 is to be representative of infinity
         for (Node node : unvisitedNodes.getNodes()) {
-            Edge edge = findEdge(startingNode, node);
+            unvisitedNodes.setLValueByNodeId(node.getId(), -1);
+        }
 
-            if (node.equals(startingNode)) {
-                unvisitedNodes.setLValueByNodeId(node.getId(), 0);
-                comparisons++;
-            } else if (edge != null) {
-                unvisitedNodes.setLValueByNodeId(node.getId(), edge.getWeight());
+        updateLValue(startingNode, 0, null);
+        comparisons++;
+
+        for (Neighbour neighbour : getNeighbours(startingNode)) {
+            if (unvisitedNodes.contains(neighbour.getNode())) {
+                updateLValue(neighbour.getNode(), neighbour.getWeight(), startingNode);
                 comparisons++;
-            } else {
-                // this is to be representative of infinity
-                unvisitedNodes.setLValueByNodeId(node.getId(), -1);
             }
         }
 
@@ -126,31 +333,58 @@ public class Dijkstra extends Graph {
     }
 
     private void findSubsequentLValues(Node nextNode) {
-        for (Node node : unvisitedNodes.getNodes()) {
-            Edge edge = findEdge(nextNode, node);
+        Collection<Neighbour> neighbours = getNeighbours(nextNode);
 
-            if (edge != null) {
-                comparisons++;
-                int oldLValue = unvisitedNodes.getLValueByNodeId(node.getId());
-                int newLValue = unvisitedNodes.getLValueByNodeId(nextNode.getId()) + edge.getWeight();
+        // the old full scan matched the node against itself through any incident edge, still counted so the
+        // comparison chart keeps its shape
+        if (!neighbours.isEmpty()) {
+            comparisons++;
+        }
 
-                // if the edge exists and the weight of its path is smaller
-                if (oldLValue > newLValue || oldLValue == -1) {
-                    comparisons += 2;
-                    // L value is updated to be the smaller path
-                    unvisitedNodes.setLValueByNodeId(node.getId(), newLValue);
-                }
+        for (Neighbour neighbour : neighbours) {
+            Node node = neighbour.getNode();
+
+            if (!unvisitedNodes.contains(node)) {
+                continue;
+            }
+
+            comparisons++;
+            int oldLValue = unvisitedNodes.getLValue(node.getId());
+            int newLValue = unvisitedNodes.getLValue(nextNode.getId()) + neighbour.getWeight();
+
+            // if the edge exists and the weight of its path is smaller
+            if (oldLValue > newLValue || oldLValue == -1) {
+                comparisons += 2;
+                // L value is updated to be the smaller path
+                updateLValue(node, newLValue, nextNode);
             }
         }
 
         flagNodeAsVisited(nextNode);
     }
 
+    private void updateLValue(Node node, int lValue, Node predecessor) {
+        int index = nodeIndex.indexOf(node.getId());
+        unvisitedNodes.setLValueByNodeId(node.getId(), lValue);
+
+        if (predecessor != null) {
+            predecessors[index] = nodeIndex.indexOf(predecessor.getId());
+        }
+
+        if (log != null) {
+            log.relaxed(index, lValue);
+        }
+    }
+
     private void flagNodeAsVisited(Node node) {
-        int lValue = unvisitedNodes.getLValueByNodeId(node.getId());
+        int lValue = unvisitedNodes.getLValue(node.getId());
         visitedNodes.setLValueByNodeId(node.getId(), lValue);
 
         visitedNodes.addNode(node);
+
+        if (log != null) {
+            log.visited(nodeIndex.indexOf(node.getId()));
+        }
     }
 
     private Node findNodeWithSmallestLValue() {
@@ -165,7 +399,7 @@ public class Dijkstra extends Graph {
                 continue; // skip nodes that have already been visited
             }
 
-            lValue = unvisitedNodes.getLValueByNodeId(currentNode.getId());
+            lValue = unvisitedNodes.getLValue(currentNode.getId());
 
             if (lValue > 0 && lValue < smallestLValue) {
                 comparisons += 2;
@@ -177,6 +411,11 @@ public class Dijkstra extends Graph {
         return node;
     }
 
+    // number of nodes settled by the last run, smaller than the graph when a point-to-point query stopped early
+    public int getSettledCount() {
+        return settledCount;
+    }
+
     public int getComparisons() {
         return comparisons;
     }
@@ -6,10 +6,12 @@ import javafx.scene.text.Text;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Edge
 {
-	private static int count = 1;
+	// shared by the FX thread and the thread a load builds its models on
+	private static final AtomicInteger count = new AtomicInteger(1);
 	private final int id;
 
 	private final Node node1;
@@ -27,8 +29,7 @@ public class Edge
 		this.node2 = node2;
 		this.nodes = new HashSet<>(Arrays.asList(node1, node2));
 
-		this.id = count;
-		count++;
+		this.id = count.getAndIncrement();
 	}
 
 	public Edge(Node node1, Node node2, int weight)
@@ -48,7 +49,8 @@ public class Edge
 		this.label = label;
 		this.shape = shape;
 		this.id = id;
-		count++;
+		// ids handed out afterwards start past the loaded one
+		count.accumulateAndGet(id + 1, Math::max);
 	}
 
 	public Edge(Node node1, Node node2, Text label, Line shape)
@@ -137,7 +139,7 @@ public class Edge
 
 	public static void resetId()
 	{
-		count = 1;
+		count.set(1);
 	}
 
 	public String toString()
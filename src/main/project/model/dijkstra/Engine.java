@@ -0,0 +1,22 @@
+package project.model.dijkstra;
+
+// Selects how Dijkstra picks the next node to visit.
+//
+// LINEAR scans every unvisited node on each iteration, O(V^2). Comparisons count each visited node skipped (1),
+// each new smallest L value found (2), each edge found from the current node (1) and each L value lowered (2).
+//
+// HEAP keeps the unvisited nodes in an indexed binary heap, O((V + E) log V). Comparisons count each incident edge
+// relaxed (1), each L value lowered (2) and every key comparison made inside the heap (1).
+//
+// BUCKET keeps the unvisited nodes in Dial's bucket queue, one bucket per L value modulo the largest edge weight + 1,
+// O(V + E + V * maxWeight) at worst. Nodes with equal L values are visited in the order they were reached, which can
+// differ from HEAP. It is counted like HEAP, with every bucket inspected in place of the heap comparisons.
+// When the largest edge weight is above BucketQueue.MAX_WEIGHT the heap is used instead.
+//
+// Runs on a CsrGraph count the same way, except that the linear engine no longer counts a node matched against itself.
+public enum Engine
+{
+	LINEAR,
+	HEAP,
+	BUCKET
+}
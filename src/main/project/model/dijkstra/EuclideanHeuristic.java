@@ -0,0 +1,62 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+// Straight-line distance between the node centres, scaled by the smallest weight any edge has per pixel of length.
+// Nodes without coordinates estimate 0.
+public class EuclideanHeuristic implements Heuristic
+{
+	private final CsrGraph graph;
+	private final double minWeightPerPixel;
+
+	public EuclideanHeuristic(CsrGraph graph, double minWeightPerPixel)
+	{
+		if (minWeightPerPixel < 0 || Double.isNaN(minWeightPerPixel))
+		{
+			throw new IllegalArgumentException("Minimum weight per pixel cannot be negative.");
+		}
+
+		this.graph = graph;
+		this.minWeightPerPixel = minWeightPerPixel;
+	}
+
+	// Uses the largest scale that is still admissible for every edge in the graph
+	public static EuclideanHeuristic fitted(CsrGraph graph)
+	{
+		double minWeightPerPixel = Double.POSITIVE_INFINITY;
+
+		for (int from = 0; from < graph.size(); from++)
+		{
+			for (int arc = graph.firstArc(from); arc < graph.endArc(from); arc++)
+			{
+				double length = distance(graph, from, graph.target(arc));
+
+				if (length > 0)
+				{
+					minWeightPerPixel = Math.min(minWeightPerPixel, graph.weight(arc) / length);
+				}
+			}
+		}
+
+		return new EuclideanHeuristic(graph, Double.isInfinite(minWeightPerPixel) ? 0 : minWeightPerPixel);
+	}
+
+	public double getMinWeightPerPixel()
+	{
+		return minWeightPerPixel;
+	}
+
+	@Override
+	public int estimate(int from, int to)
+	{
+		double length = distance(graph, from, to);
+
+		// floor keeps the estimate consistent with integer weights
+		return Double.isNaN(length) ? 0 : (int) Math.floor(length * minWeightPerPixel);
+	}
+
+	private static double distance(CsrGraph graph, int from, int to)
+	{
+		return Math.hypot(graph.getX(from) - graph.getX(to), graph.getY(from) - graph.getY(to));
+	}
+}
@@ -0,0 +1,11 @@
+package project.model.dijkstra;
+
+// Lower bound on the shortest distance between two nodes, given as dense indices of a CsrGraph.
+// It must never overestimate, otherwise A* can return a longer path than Dijkstra.
+@FunctionalInterface
+public interface Heuristic
+{
+	Heuristic NONE = (from, to) -> 0;
+
+	int estimate(int from, int to);
+}
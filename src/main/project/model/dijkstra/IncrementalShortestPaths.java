@@ -0,0 +1,280 @@
+package project.model.dijkstra;
+
+import project.model.Graph;
+import project.model.IntIntMap;
+import project.model.Neighbour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Keeps the L values and predecessors from one starting node up to date while the graph is edited, reading edges
+// from the adjacency index of the Graph. Call the matching method after the index has been updated, except for
+// nodeRemoved, which needs the node's edges and has to be called before the node is removed from the index.
+//
+// A lower weight or a new edge can only shorten paths, so the search restarts from its two end nodes and only
+// continues through nodes whose L value drops. A higher weight or a removed edge only matters when it is on the
+// shortest path tree; then the subtree below it is invalidated and repaired from the nodes bordering it.
+public class IncrementalShortestPaths
+{
+	private final Graph graph;
+	private final int sourceId;
+
+	// node id -> L value and node id -> predecessor id, unreachable nodes are left out
+	private final IntIntMap lValues = new IntIntMap(16);
+	private final IntIntMap predecessors = new IntIntMap(16);
+
+	// L value in the upper 32 bits and node id in the lower ones, entries left behind by a decrease are skipped
+	private final PriorityQueue<Long> queue = new PriorityQueue<>();
+	private int lastUpdateCost = 0;
+
+	public IncrementalShortestPaths(Graph graph, Node source)
+	{
+		this.graph = graph;
+		this.sourceId = source.getId();
+
+		recompute();
+	}
+
+	public int getSourceId()
+	{
+		return sourceId;
+	}
+
+	// returns -1 when the node cannot be reached
+	public int getLValue(int nodeId)
+	{
+		return lValues.get(nodeId, -1);
+	}
+
+	// returns -1 for the starting node and for unreachable nodes
+	public int getPredecessorId(int nodeId)
+	{
+		return predecessors.get(nodeId, -1);
+	}
+
+	// node ids from the starting node to the target, empty when it cannot be reached
+	public int[] getPath(int targetId)
+	{
+		if (!lValues.containsKey(targetId))
+		{
+			return new int[0];
+		}
+
+		List<Integer> reversed = new ArrayList<>();
+		for (int nodeId = targetId; nodeId != -1; nodeId = predecessors.get(nodeId, -1))
+		{
+			reversed.add(nodeId);
+		}
+
+		int[] path = new int[reversed.size()];
+		for (int i = 0; i < path.length; i++)
+		{
+			path[i] = reversed.get(path.length - 1 - i);
+		}
+
+		return path;
+	}
+
+	// number of nodes whose L value was invalidated or lowered by the last update
+	public int getLastUpdateCost()
+	{
+		return lastUpdateCost;
+	}
+
+	// Runs a full search from the starting node, for when the graph has been replaced wholesale
+	public void recompute()
+	{
+		lValues.clear();
+		predecessors.clear();
+		lastUpdateCost = 0;
+
+		setLValue(sourceId, 0, -1);
+		propagate(-1);
+	}
+
+	public void edgeAdded(Edge edge)
+	{
+		lastUpdateCost = 0;
+		relaxEdge(edge);
+		propagate(-1);
+	}
+
+	public void edgeWeightChanged(Edge edge, int oldWeight)
+	{
+		if (edge.getWeight() < oldWeight)
+		{
+			edgeAdded(edge);
+		}
+		else if (edge.getWeight() > oldWeight)
+		{
+			edgeRemoved(edge);
+		}
+	}
+
+	public void edgeRemoved(Edge edge)
+	{
+		lastUpdateCost = 0;
+
+		int nodeId1 = edge.getNode1().getId();
+		int nodeId2 = edge.getNode2().getId();
+
+		if (getPredecessorId(nodeId2) == nodeId1)
+		{
+			repair(nodeId2, -1);
+		}
+		else if (getPredecessorId(nodeId1) == nodeId2)
+		{
+			repair(nodeId1, -1);
+		}
+	}
+
+	public void nodeRemoved(Node node)
+	{
+		lastUpdateCost = 0;
+
+		if (node.getId() == sourceId)
+		{
+			lastUpdateCost = lValues.size();
+			lValues.clear();
+			predecessors.clear();
+			return;
+		}
+
+		if (lValues.containsKey(node.getId()))
+		{
+			repair(node.getId(), node.getId());
+		}
+	}
+
+	// a shorter path to either end node may now run over the edge
+	private void relaxEdge(Edge edge)
+	{
+		// the index keeps one edge per pair of nodes, which is not necessarily this one
+		Edge indexed = graph.findEdge(edge.getNode1(), edge.getNode2());
+
+		if (indexed == null)
+		{
+			return;
+		}
+
+		relax(edge.getNode1().getId(), edge.getNode2().getId(), indexed.getWeight());
+		relax(edge.getNode2().getId(), edge.getNode1().getId(), indexed.getWeight());
+	}
+
+	// invalidates the subtree hanging from root, then rebuilds it from the nodes around it;
+	// the removed node, if any, is invalidated too but never reached again
+	private void repair(int rootId, int removedId)
+	{
+		IntIntMap invalid = new IntIntMap(16);
+		List<Integer> subtree = new ArrayList<>();
+		subtree.add(rootId);
+		invalid.put(rootId, 1);
+
+		for (int i = 0; i < subtree.size(); i++)
+		{
+			int nodeId = subtree.get(i);
+
+			for (Neighbour neighbour : graph.getNeighbours(nodeId))
+			{
+				int childId = neighbour.getNode().getId();
+
+				if (getPredecessorId(childId) == nodeId && !invalid.containsKey(childId))
+				{
+					invalid.put(childId, 1);
+					subtree.add(childId);
+				}
+			}
+		}
+
+		for (int nodeId : subtree)
+		{
+			lValues.remove(nodeId);
+			predecessors.remove(nodeId);
+		}
+
+		lastUpdateCost = subtree.size();
+
+		// each invalidated node starts from its best neighbour outside the subtree
+		for (int nodeId : subtree)
+		{
+			if (nodeId == removedId)
+			{
+				continue;
+			}
+
+			for (Neighbour neighbour : graph.getNeighbours(nodeId))
+			{
+				int neighbourId = neighbour.getNode().getId();
+
+				if (!invalid.containsKey(neighbourId) && lValues.containsKey(neighbourId))
+				{
+					relax(neighbourId, nodeId, neighbour.getWeight());
+				}
+			}
+		}
+
+		propagate(removedId);
+	}
+
+	// Dijkstra from whatever is queued, following only the arcs that lower an L value
+	private void propagate(int removedId)
+	{
+		while (!queue.isEmpty())
+		{
+			long entry = queue.poll();
+			int nodeId = (int) entry;
+			int lValue = (int) (entry >>> 32);
+
+			if (lValues.get(nodeId, -1) != lValue)
+			{
+				continue;
+			}
+
+			for (Neighbour neighbour : graph.getNeighbours(nodeId))
+			{
+				int nextId = neighbour.getNode().getId();
+
+				if (nextId != removedId)
+				{
+					relax(nodeId, nextId, neighbour.getWeight());
+				}
+			}
+		}
+	}
+
+	private void relax(int fromId, int toId, int weight)
+	{
+		int fromLValue = lValues.get(fromId, -1);
+
+		if (fromLValue == -1)
+		{
+			return;
+		}
+
+		int newLValue = fromLValue + weight;
+		int oldLValue = lValues.get(toId, -1);
+
+		if (oldLValue == -1 || newLValue < oldLValue)
+		{
+			setLValue(toId, newLValue, fromId);
+			lastUpdateCost++;
+		}
+	}
+
+	private void setLValue(int nodeId, int lValue, int predecessorId)
+	{
+		lValues.put(nodeId, lValue);
+
+		if (predecessorId == -1)
+		{
+			predecessors.remove(nodeId);
+		}
+		else
+		{
+			predecessors.put(nodeId, predecessorId);
+		}
+
+		queue.add(((long) lValue << 32) | (nodeId & 0xffffffffL));
+	}
+}
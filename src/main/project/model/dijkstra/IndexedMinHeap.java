@@ -0,0 +1,193 @@
+package project.model.dijkstra;
+
+import java.util.Arrays;
+
+// Binary min-heap over the dense indices 0..capacity-1 with decrease-key support.
+// Equal keys are ordered by the smaller index, so the poll order is deterministic.
+public class IndexedMinHeap implements MinQueue
+{
+	private final int[] heap;
+	private final int[] positions;
+	private final int[] keys;
+	private int size = 0;
+	private int comparisons = 0;
+
+	public IndexedMinHeap(int capacity)
+	{
+		this.heap = new int[capacity];
+		this.positions = new int[capacity];
+		this.keys = new int[capacity];
+
+		Arrays.fill(positions, -1);
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public boolean contains(int index)
+	{
+		return positions[index] != -1;
+	}
+
+	public int getKey(int index)
+	{
+		return keys[index];
+	}
+
+	public void insert(int index, int key)
+	{
+		if (contains(index))
+		{
+			throw new IllegalArgumentException("Index " + index + " is already in the heap.");
+		}
+
+		keys[index] = key;
+		positions[index] = size;
+		heap[size] = index;
+		size++;
+
+		siftUp(size - 1);
+	}
+
+	public void decreaseKey(int index, int key)
+	{
+		if (!contains(index))
+		{
+			throw new IllegalArgumentException("Index " + index + " is not in the heap.");
+		}
+
+		keys[index] = key;
+		siftUp(positions[index]);
+	}
+
+	// inserts the index, or lowers its key if it is already queued
+	public void offer(int index, int key)
+	{
+		if (contains(index))
+		{
+			decreaseKey(index, key);
+		}
+		else
+		{
+			insert(index, key);
+		}
+	}
+
+	// returns the index with the smallest key without removing it
+	public int peek()
+	{
+		if (size == 0)
+		{
+			throw new IllegalStateException("Heap is empty.");
+		}
+
+		return heap[0];
+	}
+
+	public int poll()
+	{
+		if (size == 0)
+		{
+			throw new IllegalStateException("Heap is empty.");
+		}
+
+		int top = heap[0];
+		size--;
+
+		if (size > 0)
+		{
+			move(heap[size], 0);
+			siftDown(0);
+		}
+
+		positions[top] = -1;
+		return top;
+	}
+
+	// only touches the queued indices, so it is cheap to reuse between runs
+	public void clear()
+	{
+		for (int i = 0; i < size; i++)
+		{
+			positions[heap[i]] = -1;
+		}
+
+		size = 0;
+	}
+
+	public int getComparisons()
+	{
+		return comparisons;
+	}
+
+	public void resetComparisons()
+	{
+		comparisons = 0;
+	}
+
+	private void siftUp(int position)
+	{
+		int index = heap[position];
+
+		while (position > 0)
+		{
+			int parent = (position - 1) >>> 1;
+
+			if (!less(index, heap[parent]))
+			{
+				break;
+			}
+
+			move(heap[parent], position);
+			position = parent;
+		}
+
+		move(index, position);
+	}
+
+	private void siftDown(int position)
+	{
+		int index = heap[position];
+		int half = size >>> 1;
+
+		while (position < half)
+		{
+			int child = 2 * position + 1;
+			int right = child + 1;
+
+			if (right < size && less(heap[right], heap[child]))
+			{
+				child = right;
+			}
+
+			if (!less(heap[child], index))
+			{
+				break;
+			}
+
+			move(heap[child], position);
+			position = child;
+		}
+
+		move(index, position);
+	}
+
+	private boolean less(int index1, int index2)
+	{
+		comparisons++;
+		return keys[index1] < keys[index2] || (keys[index1] == keys[index2] && index1 < index2);
+	}
+
+	private void move(int index, int position)
+	{
+		heap[position] = index;
+		positions[index] = position;
+	}
+}
@@ -0,0 +1,183 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// ALT lower bound: for every landmark l the triangle inequality gives d(from, to) >= |d(l, from) - d(l, to)|,
+// and the estimate is the largest of those. It needs no coordinates, only one distance table per landmark.
+// Tables hold dense indices of the CsrGraph they were built from, with -1 for unreachable nodes.
+public class LandmarkHeuristic implements Heuristic
+{
+	private static final int MAGIC = 0x414c5431;
+	private static final int VERSION = 1;
+
+	private final int[] landmarks;
+	private final int[][] distances;
+	private final long fingerprint;
+
+	private LandmarkHeuristic(int[] landmarks, int[][] distances, long fingerprint)
+	{
+		this.landmarks = landmarks;
+		this.distances = distances;
+		this.fingerprint = fingerprint;
+	}
+
+	// picks each landmark as far as possible from the ones already chosen, starting from the node farthest from
+	// the first node, then runs a full search from each of them
+	public static LandmarkHeuristic build(CsrGraph graph, int numOfLandmarks)
+	{
+		if (numOfLandmarks < 1)
+		{
+			throw new IllegalArgumentException("Number of landmarks must be greater than 0.");
+		}
+
+		int count = Math.min(numOfLandmarks, graph.size());
+		int[] landmarks = new int[count];
+		int[][] distances = new int[count][];
+
+		if (count == 0)
+		{
+			return new LandmarkHeuristic(landmarks, distances, graph.fingerprint());
+		}
+
+		CsrSearch search = new CsrSearch(graph);
+		int[] closest = new int[graph.size()];
+		Arrays.fill(closest, Integer.MAX_VALUE);
+
+		int next = farthest(search.runWithHeap(0, -1).getLValues());
+
+		for (int i = 0; i < count; i++)
+		{
+			landmarks[i] = next;
+			distances[i] = search.runWithHeap(next, -1).getLValues();
+
+			for (int index = 0; index < closest.length; index++)
+			{
+				if (distances[i][index] != -1)
+				{
+					closest[index] = Math.min(closest[index], distances[i][index]);
+				}
+			}
+
+			next = farthest(closest);
+		}
+
+		return new LandmarkHeuristic(landmarks, distances, graph.fingerprint());
+	}
+
+	// index with the largest distance, unreachable nodes count as the farthest
+	private static int farthest(int[] lValues)
+	{
+		int best = 0;
+		long bestDistance = -1;
+
+		for (int index = 0; index < lValues.length; index++)
+		{
+			long distance = lValues[index] == -1 ? Long.MAX_VALUE : lValues[index];
+
+			if (distance > bestDistance)
+			{
+				best = index;
+				bestDistance = distance;
+			}
+		}
+
+		return best;
+	}
+
+	@Override
+	public int estimate(int from, int to)
+	{
+		int estimate = 0;
+
+		for (int[] table : distances)
+		{
+			// nothing can be said when either node cannot be reached from the landmark
+			if (table[from] != -1 && table[to] != -1)
+			{
+				estimate = Math.max(estimate, Math.abs(table[from] - table[to]));
+			}
+		}
+
+		return estimate;
+	}
+
+	public int getNumOfLandmarks()
+	{
+		return landmarks.length;
+	}
+
+	// dense index of the given landmark
+	public int getLandmark(int landmark)
+	{
+		return landmarks[landmark];
+	}
+
+	// fingerprint of the CsrGraph the tables were built from
+	public long getFingerprint()
+	{
+		return fingerprint;
+	}
+
+	public void save(Path path) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+		{
+			int size = distances.length == 0 ? 0 : distances[0].length;
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(fingerprint);
+			out.writeInt(landmarks.length);
+			out.writeInt(size);
+
+			for (int i = 0; i < landmarks.length; i++)
+			{
+				out.writeInt(landmarks[i]);
+
+				for (int distance : distances[i])
+				{
+					out.writeInt(distance);
+				}
+			}
+		}
+	}
+
+	public static LandmarkHeuristic load(Path path) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				throw new IOException("Not a landmark file: " + path);
+			}
+
+			long fingerprint = in.readLong();
+			int count = in.readInt();
+			int size = in.readInt();
+
+			int[] landmarks = new int[count];
+			int[][] distances = new int[count][size];
+
+			for (int i = 0; i < count; i++)
+			{
+				landmarks[i] = in.readInt();
+
+				for (int index = 0; index < size; index++)
+				{
+					distances[i][index] = in.readInt();
+				}
+			}
+
+			return new LandmarkHeuristic(landmarks, distances, fingerprint);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package project.model.dijkstra;
+
+// Priority queue of dense node indices keyed by L value, as used by the heap and bucket engines
+public interface MinQueue
+{
+	boolean isEmpty();
+
+	boolean contains(int index);
+
+	// inserts the index, or lowers its key if it is already queued
+	void offer(int index, int key);
+
+	int poll();
+
+	void clear();
+
+	int getComparisons();
+
+	void resetComparisons();
+
+	// bucket queue for Engine.BUCKET while the weights fit, an indexed heap otherwise
+	static MinQueue of(Engine engine, int capacity, int maxWeight)
+	{
+		if (engine == Engine.BUCKET && maxWeight <= BucketQueue.MAX_WEIGHT)
+		{
+			return new BucketQueue(capacity, maxWeight);
+		}
+
+		return new IndexedMinHeap(capacity);
+	}
+}
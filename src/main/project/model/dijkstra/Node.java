@@ -4,20 +4,26 @@ import javafx.scene.shape.Circle;
 import javafx.scene.text.Text;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Node implements Comparable<Node>
 {
-	private static int count = 1;
+	// shared by the FX thread and the thread a load builds its models on
+	private static final AtomicInteger count = new AtomicInteger(1);
 	private int id;
 	private String name;
 	private Text label;
 	private Circle shape;
 	private boolean isActive = false;
 
+	// for nodes read back from disk; ids handed out afterwards start past the loaded one
 	public Node(int id, Text label, Circle shape)
 	{
-		this(label, shape);
 		this.id = id;
+		this.name = label.getText();
+		this.label = label;
+		this.shape = shape;
+		count.accumulateAndGet(id + 1, Math::max);
 	}
 
 	public Node(Text label, Circle shape)
@@ -30,15 +36,13 @@ public class Node implements Comparable<Node>
 	public Node(String name)
 	{
 		this.name = name;
-		this.id = count;
-		count++;
+		this.id = count.getAndIncrement();
 	}
 
 	public Node(int name)
 	{
 		this.name = String.valueOf(name);
-		this.id = count;
-		count++;
+		this.id = count.getAndIncrement();
 	}
 
 	public Node() {
@@ -92,7 +96,7 @@ public class Node implements Comparable<Node>
 
 	public static void resetId()
 	{
-		count = 1;
+		count.set(1);
 	}
 
 	@Override
@@ -1,5 +1,7 @@
 package project.model.dijkstra;
 
+import project.model.IntIntMap;
+
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -8,12 +10,12 @@ import java.util.Map;
 public class NodeMap
 {
 	private final Map<Integer, Node> nodes;
-	private final Map<Integer, Integer> nodeIdToLValue;
+	private final IntIntMap nodeIdToLValue;
 
 	public NodeMap(List<Node> nodes)
 	{
 		this.nodes = new HashMap<>();
-		this.nodeIdToLValue = new HashMap<>();
+		this.nodeIdToLValue = new IntIntMap(nodes.size());
 
 		for (Node node : nodes)
 		{
@@ -25,7 +27,7 @@ public class NodeMap
 	public NodeMap()
 	{
 		this.nodes = new HashMap<>();
-		this.nodeIdToLValue = new HashMap<>();
+		this.nodeIdToLValue = new IntIntMap();
 	}
 
 	public void update(List<Node> nodes)
@@ -45,6 +47,11 @@ public class NodeMap
 		return nodes.values();
 	}
 
+	public Node getNode(int nodeId)
+	{
+		return nodes.get(nodeId);
+	}
+
 	public void addNode(Node node)
 	{
 		this.nodes.put(node.getId(), node);
@@ -53,7 +60,13 @@ public class NodeMap
 
 	public Integer getLValueByNodeId(int nodeId)
 	{
-		return nodeIdToLValue.get(nodeId);
+		return nodeIdToLValue.containsKey(nodeId) ? nodeIdToLValue.get(nodeId, -1) : null;
+	}
+
+	// allocation free lookup, returns -1 for unknown nodes as well as unreached ones
+	public int getLValue(int nodeId)
+	{
+		return nodeIdToLValue.get(nodeId, -1);
 	}
 
 	public void setLValueByNodeId(int nodeId, int lValue)
@@ -68,7 +81,7 @@ public class NodeMap
 
 	public boolean contains(Node node)
 	{
-		return getLValueByNodeId(node.getId()) != null;
+		return nodeIdToLValue.containsKey(node.getId());
 	}
 
 	public void clear()
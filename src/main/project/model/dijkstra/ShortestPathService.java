@@ -0,0 +1,188 @@
+package project.model.dijkstra;
+
+import project.model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Thread-safe batch queries over an immutable CsrGraph snapshot. A batch is split into one chunk per thread and
+// run on the given executor. Each chunk borrows a CsrSearch from a pool of at most parallelism searches and returns it
+// when done, so the queues and scratch arrays are reused across chunks and batches instead of being rebuilt, and they
+// go away with the service rather than staying behind on the executor's threads. Results come back in the same order
+// as the batch.
+// The executor is owned by the caller and is not shut down by the service.
+public class ShortestPathService
+{
+	private final CsrGraph graph;
+	private final ExecutorService executor;
+	private final Engine engine;
+	private final int parallelism;
+	// idle searches; a full pool turns away the ones overlapping batches created on top of it
+	private final BlockingQueue<CsrSearch> searches;
+
+	public ShortestPathService(CsrGraph graph, ExecutorService executor, Engine engine, int parallelism)
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be greater than 0.");
+		}
+
+		this.graph = graph;
+		this.executor = executor;
+		this.engine = engine;
+		this.parallelism = parallelism;
+		this.searches = new ArrayBlockingQueue<>(parallelism);
+	}
+
+	public CsrGraph getGraph()
+	{
+		return graph;
+	}
+
+	// searches kept for the next batch
+	int getNumOfIdleSearches()
+	{
+		return searches.size();
+	}
+
+	// single-source results for every source id, in batch order
+	public List<ShortestPaths> solve(int[] sourceIds)
+	{
+		int[] sources = toIndices(sourceIds);
+		ShortestPaths[] results = new ShortestPaths[sources.length];
+
+		runChunks(sources.length, (search, from, to) -> {
+			for (int i = from; i < to; i++)
+			{
+				results[i] = search.run(sources[i], engine);
+			}
+		});
+
+		return Arrays.asList(results);
+	}
+
+	// L values from every node of the graph, written row by row in dense index order into distances, which has to
+	// hold size * size ints; nothing is kept per row besides the row itself
+	public void solveAll(int[] distances)
+	{
+		int size = graph.size();
+
+		if (distances.length != (long) size * size)
+		{
+			throw new IllegalArgumentException("Distances need room for " + size + " rows of " + size + ".");
+		}
+
+		runChunks(size, (search, from, to) -> {
+			for (int source = from; source < to; source++)
+			{
+				search.runInto(source, engine, distances, source * size);
+			}
+		});
+	}
+
+	// distance for every (source, target) pair, -1 when the target is unreachable; each query stops at its target and
+	// costs only what its search reaches
+	public int[] distances(int[] sourceIds, int[] targetIds)
+	{
+		if (sourceIds.length != targetIds.length)
+		{
+			throw new IllegalArgumentException("Every source needs a target.");
+		}
+
+		int[] sources = toIndices(sourceIds);
+		int[] targets = toIndices(targetIds);
+		int[] results = new int[sources.length];
+
+		runChunks(sources.length, (search, from, to) -> {
+			for (int i = from; i < to; i++)
+			{
+				results[i] = search.distance(sources[i], targets[i], engine);
+			}
+		});
+
+		return results;
+	}
+
+	private int[] toIndices(int[] nodeIds)
+	{
+		int[] indices = new int[nodeIds.length];
+
+		for (int i = 0; i < nodeIds.length; i++)
+		{
+			indices[i] = graph.indexOf(nodeIds[i]);
+
+			if (indices[i] == -1)
+			{
+				throw new IllegalArgumentException("Node " + nodeIds[i] + " is not in the graph.");
+			}
+		}
+
+		return indices;
+	}
+
+	// runs the batch as contiguous chunks and waits for all of them
+	private void runChunks(int size, Chunk chunk)
+	{
+		int numOfChunks = Math.min(parallelism, size);
+		List<Callable<Void>> tasks = new ArrayList<>(numOfChunks);
+
+		for (int i = 0; i < numOfChunks; i++)
+		{
+			int from = (int) ((long) size * i / numOfChunks);
+			int to = (int) ((long) size * (i + 1) / numOfChunks);
+
+			tasks.add(() -> {
+				CsrSearch search = searches.poll();
+				if (search == null)
+				{
+					search = new CsrSearch(graph);
+				}
+
+				try
+				{
+					chunk.run(search, from, to);
+				}
+				finally
+				{
+					searches.offer(search);
+				}
+				return null;
+			});
+		}
+
+		try
+		{
+			for (Future<Void> future : executor.invokeAll(tasks))
+			{
+				future.get();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Batch was interrupted.", e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException) e.getCause();
+			}
+
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Chunk
+	{
+		void run(CsrSearch search, int from, int to);
+	}
+}
@@ -0,0 +1,121 @@
+package project.model.dijkstra;
+
+import project.model.NodeIndex;
+
+// Final L values and predecessors of a single-source run, indexed by the dense node order of the graph it ran on.
+// An L value of -1 is representative of infinity, as in the recorded steps, and a predecessor of -1 means none.
+// When the run stopped early at a target, only the L values of settled nodes are final.
+public class ShortestPaths
+{
+	private final NodeIndex nodeIndex;
+	private final int source;
+	private final int[] lValues;
+	private final int[] predecessors;
+	private final int settledCount;
+
+	public ShortestPaths(NodeIndex nodeIndex, int source, int[] lValues, int[] predecessors, int settledCount)
+	{
+		this.nodeIndex = nodeIndex;
+		this.source = source;
+		this.lValues = lValues;
+		this.predecessors = predecessors;
+		this.settledCount = settledCount;
+	}
+
+	public NodeIndex getNodeIndex()
+	{
+		return nodeIndex;
+	}
+
+	public int getSourceId()
+	{
+		return nodeIndex.idOf(source);
+	}
+
+	public int size()
+	{
+		return lValues.length;
+	}
+
+	// rough heap footprint in bytes, including the node index
+	public long estimateSize()
+	{
+		return 32L * lValues.length;
+	}
+
+	// number of nodes visited before the run finished
+	public int getSettledCount()
+	{
+		return settledCount;
+	}
+
+	public int getLValue(int nodeId)
+	{
+		return lValues[toIndex(nodeId)];
+	}
+
+	public int getLValueAt(int index)
+	{
+		return lValues[index];
+	}
+
+	public boolean isReachable(int nodeId)
+	{
+		return getLValue(nodeId) != -1;
+	}
+
+	public int[] getLValues()
+	{
+		return lValues.clone();
+	}
+
+	// returns the id of the node before the given one on its shortest path, or -1 for the source and unreached nodes
+	public int getPredecessorId(int nodeId)
+	{
+		int predecessor = predecessors[toIndex(nodeId)];
+
+		return predecessor == -1 ? -1 : nodeIndex.idOf(predecessor);
+	}
+
+	public int getPredecessorAt(int index)
+	{
+		return predecessors[index];
+	}
+
+	// node ids from the source to the target, empty when the target is unreachable
+	public int[] getPath(int targetId)
+	{
+		int target = toIndex(targetId);
+
+		if (lValues[target] == -1)
+		{
+			return new int[0];
+		}
+
+		int length = 1;
+		for (int index = target; index != source; index = predecessors[index])
+		{
+			length++;
+		}
+
+		int[] path = new int[length];
+		for (int index = target, i = length - 1; i >= 0; index = predecessors[index], i--)
+		{
+			path[i] = nodeIndex.idOf(index);
+		}
+
+		return path;
+	}
+
+	private int toIndex(int nodeId)
+	{
+		int index = nodeIndex.indexOf(nodeId);
+
+		if (index == -1)
+		{
+			throw new IllegalArgumentException("Node " + nodeId + " is not in the graph.");
+		}
+
+		return index;
+	}
+}
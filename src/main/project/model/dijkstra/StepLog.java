@@ -0,0 +1,178 @@
+package project.model.dijkstra;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compact record of a Dijkstra run. Every iteration is stored as the node that was visited plus the (node, new L value)
+// pairs set while visiting it, all as dense indices in primitive arrays. The String[] step map used by the Animation
+// and Table is only built the first time toStepMap() is called.
+public class StepLog
+{
+	private final int[] nodeIds;
+	private final String[] nodeNames;
+
+	private int[] visits = new int[16];
+	private int[] pairEnds = new int[16];
+	private int numOfVisits = 0;
+
+	private int[] pairNodes = new int[16];
+	private int[] pairValues = new int[16];
+	private int numOfPairs = 0;
+
+	private boolean stalled = false;
+	private Map<String[], String[]> steps;
+
+	public StepLog(Collection<Node> nodes)
+	{
+		this.nodeIds = new int[nodes.size()];
+		this.nodeNames = new String[nodes.size()];
+
+		int index = 0;
+		for (Node node : nodes)
+		{
+			nodeIds[index] = node.getId();
+			nodeNames[index] = node.getName();
+			index++;
+		}
+	}
+
+	void relaxed(int index, int lValue)
+	{
+		if (numOfPairs == pairNodes.length)
+		{
+			pairNodes = Arrays.copyOf(pairNodes, numOfPairs * 2);
+			pairValues = Arrays.copyOf(pairValues, numOfPairs * 2);
+		}
+
+		pairNodes[numOfPairs] = index;
+		pairValues[numOfPairs] = lValue;
+		numOfPairs++;
+	}
+
+	void visited(int index)
+	{
+		if (numOfVisits == visits.length)
+		{
+			visits = Arrays.copyOf(visits, numOfVisits * 2);
+			pairEnds = Arrays.copyOf(pairEnds, numOfVisits * 2);
+		}
+
+		visits[numOfVisits] = index;
+		pairEnds[numOfVisits] = numOfPairs;
+		numOfVisits++;
+	}
+
+	// the run stopped with unreachable nodes left, which repeats the last row
+	void stalled()
+	{
+		stalled = true;
+	}
+
+	public int getNumOfVisits()
+	{
+		return numOfVisits;
+	}
+
+	// node id visited on the given iteration
+	public int getVisitedNodeId(int iteration)
+	{
+		if (iteration < 0 || iteration >= numOfVisits)
+		{
+			throw new IndexOutOfBoundsException("Iteration " + iteration + " was not recorded.");
+		}
+
+		return nodeIds[visits[iteration]];
+	}
+
+	// number of rows in the step map, including the "Tv" header
+	public int size()
+	{
+		return numOfVisits + (stalled ? 2 : 1);
+	}
+
+	// rough heap footprint in bytes, counting the step map whether or not it has been built yet
+	public long estimateSize()
+	{
+		long arrays = 4L * (nodeIds.length + visits.length + pairEnds.length + pairNodes.length + pairValues.length);
+
+		long names = 0;
+		for (String name : nodeNames)
+		{
+			names += 40 + 2L * name.length();
+		}
+
+		// one String[] per row plus a short String per L value
+		long stepMap = (long) size() * (16 + 4L * nodeIds.length + 48L * nodeIds.length);
+
+		return arrays + names + stepMap;
+	}
+
+	public Map<String[], String[]> toStepMap()
+	{
+		if (steps == null)
+		{
+			steps = buildStepMap();
+		}
+
+		return steps;
+	}
+
+	private Map<String[], String[]> buildStepMap()
+	{
+		Map<String[], String[]> stepMap = new LinkedHashMap<>();
+		stepMap.put(new String[]{"Tv"}, nodeNames.clone());
+
+		int[] lValues = new int[nodeIds.length];
+		Arrays.fill(lValues, -1);
+		boolean[] visited = new boolean[nodeIds.length];
+
+		int pair = 0;
+		for (int i = 0; i < numOfVisits; i++)
+		{
+			for (; pair < pairEnds[i]; pair++)
+			{
+				lValues[pairNodes[pair]] = pairValues[pair];
+			}
+
+			visited[visits[i]] = true;
+			stepMap.put(visitedNodeIds(visited, i + 1), toStrings(lValues));
+		}
+
+		if (stalled)
+		{
+			stepMap.put(visitedNodeIds(visited, numOfVisits), toStrings(lValues));
+		}
+
+		return stepMap;
+	}
+
+	private String[] visitedNodeIds(boolean[] visited, int count)
+	{
+		String[] ids = new String[count];
+
+		int index = 0;
+		for (int i = 0; i < visited.length; i++)
+		{
+			if (visited[i])
+			{
+				ids[index++] = String.valueOf(nodeIds[i]);
+			}
+		}
+
+		return ids;
+	}
+
+	private String[] toStrings(int[] lValues)
+	{
+		String[] values = new String[lValues.length];
+
+		for (int i = 0; i < lValues.length; i++)
+		{
+			values[i] = String.valueOf(lValues[i]);
+		}
+
+		return values;
+	}
+}
@@ -14,7 +14,7 @@ public class Animation
 
 	private final List<Map<Circle, Line>> toggledEdgesHistory = new ArrayList<>();
 
-	private LinkedHashMap<String[], String[]> results;
+	private Map<String[], String[]> results;
 
 	private Set<String> previousNodes = new HashSet<>();
 	private final List<Integer> lastHighlightedNodeIds = new ArrayList<>();
@@ -32,7 +32,7 @@ public class Animation
 	// starts animation
 	public void start()
 	{
-		results = (LinkedHashMap<String[], String[]>) controller.runDijkstra();
+		results = controller.runDijkstra().toStepMap();
 
 		for (Map.Entry<String[], String[]> entry : results.entrySet())
 		{
@@ -13,7 +13,6 @@ import project.view.util.Util;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 public class ComparisonChart
@@ -29,6 +28,13 @@ public class ComparisonChart
 
 	private static final Logger logger = Logger.getLogger(ComparisonChart.class.getName());
 
+	// Receives the full solve, one-way and bidirectional results once every graph size has been run
+	private interface ResultsListener
+	{
+		void accept(Map<Integer, Integer> results, Map<Integer, Integer> oneWayResults,
+		            Map<Integer, Integer> bidirectionalResults);
+	}
+
 	public ComparisonChart(Controller controller)
 	{
 		this.controller = controller;
@@ -76,13 +82,19 @@ public class ComparisonChart
 		lineChart.getData().clear();
 	}
 
-	public void fillChart(int totalNodes, int numOfSteps, Map<Integer, Integer> results)
+	public void fillChart(int totalNodes, int numOfSteps, Map<Integer, Integer> results,
+	                      Map<Integer, Integer> oneWayResults, Map<Integer, Integer> bidirectionalResults)
 	{
 		XYChart.Series<Number, Number> userInputGradient = charts.calculateUserInputGradient(results);
+		XYChart.Series<Number, Number> oneWayGradient = charts.calculateUserInputGradient(oneWayResults, "One-way");
+		XYChart.Series<Number, Number> bidirectionalGradient =
+				charts.calculateUserInputGradient(bidirectionalResults, "Bidirectional");
 		XYChart.Series<Number, Number> maxEdgeGradient = charts.calculateMaxEdgeGradient(totalNodes, numOfSteps);
 		XYChart.Series<Number, Number> polynomialGradient = charts.calculatePolynomialGradient(totalNodes, numOfSteps);
 
 		lineChart.getData().add(userInputGradient);
+		lineChart.getData().add(oneWayGradient);
+		lineChart.getData().add(bidirectionalGradient);
 		lineChart.getData().add(maxEdgeGradient);
 		lineChart.getData().add(polynomialGradient);
 	}
@@ -109,18 +121,23 @@ public class ComparisonChart
 		progressBar.setProgress(progress);
 	}
 
-	private void handleResultsReady(Map<Integer, Integer> results)
+	private void handleResultsReady(Map<Integer, Integer> results, Map<Integer, Integer> oneWayResults,
+	                                Map<Integer, Integer> bidirectionalResults)
 	{
-		fillChart(totalNodes, numberOfSteps, results);
+		fillChart(totalNodes, numberOfSteps, results, oneWayResults, bidirectionalResults);
 	}
 
 	// Repeatedly runs Dijkstra's algorithm on different sized graphs
 	private void calculateResults(int totalNumberOfNodes, int numberOfSteps,
-	                              Consumer<Map<Integer, Integer>> onResultsReady)
+	                              ResultsListener onResultsReady)
 	{
 		int[] graphSizes = Util.calculateGraphSizes(totalNumberOfNodes, numberOfSteps);
 		Map<Integer, Integer> results = new LinkedHashMap<>();
 		results.put(0, 0);
+		Map<Integer, Integer> oneWayResults = new LinkedHashMap<>();
+		oneWayResults.put(0, 0);
+		Map<Integer, Integer> bidirectionalResults = new LinkedHashMap<>();
+		bidirectionalResults.put(0, 0);
 
 		Thread thread = new Thread(() ->
 		{
@@ -140,6 +157,11 @@ public class ComparisonChart
 				int comparisons = controller.getComparisons(graphSize);
 				results.put(graphSize, comparisons);
 
+				// Run the same query between two random nodes of the graph one way and bidirectionally
+				int[] pointToPointComparisons = controller.getPointToPointComparisons(graphSize);
+				oneWayResults.put(graphSize, pointToPointComparisons[0]);
+				bidirectionalResults.put(graphSize, pointToPointComparisons[1]);
+
 				// Post log message to the console
 				long timeTaken = (System.nanoTime() - startTime) / 1000000;
 				String message = "Graph size: " + graphSize + ", Time: " + timeTaken + "ms";
@@ -149,7 +171,7 @@ public class ComparisonChart
 			Platform.runLater(() ->
 			{
 //				onProgressUpdate.accept(1.0);
-				onResultsReady.accept(results);
+				onResultsReady.accept(results, oneWayResults, bidirectionalResults);
 			});
 		});
 
@@ -1,6 +1,7 @@
 package project.view;
 
 import javafx.animation.ScaleTransition;
+import javafx.application.Platform;
 import javafx.geometry.Point2D;
 import javafx.scene.Scene;
 import javafx.scene.control.ContextMenu;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class Graph
@@ -331,35 +333,70 @@ public class Graph
 		addNodesFromController();
 	}
 
-	private void addNodesFromController()
+	// Same as refresh, but the shapes are added batchSize at a time with a Platform.runLater between batches,
+	// so the window keeps responding while a large graph is put on screen
+	public CompletableFuture<Void> refreshInBatches(int batchSize)
 	{
-		Map<Circle, Text> nodesAndLabels = controller.getNodesAndLabels();
+		clearGraph();
 
-		for (Map.Entry<Circle, Text> entry : nodesAndLabels.entrySet())
-		{
-			setupNodeListeners(entry.getKey());
+		List<Runnable> additions = new ArrayList<>();
+		controller.getEdgesAndLabels().forEach((edge, label) -> additions.add(() -> addEdgeFromController(edge, label)));
+		controller.getNodesAndLabels().forEach((node, label) -> additions.add(() -> addNodeFromController(node, label)));
 
-			graphPane.getChildren().add(entry.getValue());
-			graphPane.getChildren().add(entry.getKey());
-			nodeLabels.add(entry.getValue());
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		addBatch(additions, 0, batchSize, done);
+
+		return done;
+	}
+
+	private void addBatch(List<Runnable> additions, int from, int batchSize, CompletableFuture<Void> done)
+	{
+		int to = Math.min(from + batchSize, additions.size());
+
+		for (int i = from; i < to; i++)
+		{
+			additions.get(i).run();
+		}
 
-			entry.getValue().toFront();
+		if (to == additions.size())
+		{
+			done.complete(null);
+		}
+		else
+		{
+			Platform.runLater(() -> addBatch(additions, to, batchSize, done));
 		}
 	}
 
+	private void addNodesFromController()
+	{
+		controller.getNodesAndLabels().forEach(this::addNodeFromController);
+	}
+
+	private void addNodeFromController(Circle node, Text label)
+	{
+		setupNodeListeners(node);
+
+		graphPane.getChildren().add(label);
+		graphPane.getChildren().add(node);
+		nodeLabels.add(label);
+
+		label.toFront();
+	}
+
 	private void addEdgesFromController()
 	{
-		Map<Line, Text> edgesAndLabels = controller.getEdgesAndLabels();
+		controller.getEdgesAndLabels().forEach(this::addEdgeFromController);
+	}
 
-		for (Map.Entry<Line, Text> entry : edgesAndLabels.entrySet())
-		{
-			setupEdgeListeners(entry.getKey());
+	private void addEdgeFromController(Line edge, Text label)
+	{
+		setupEdgeListeners(edge);
 
-			graphPane.getChildren().add(entry.getValue());
-			graphPane.getChildren().add(entry.getKey());
+		graphPane.getChildren().add(label);
+		graphPane.getChildren().add(edge);
 
-			entry.getValue().toFront();
-		}
+		label.toFront();
 	}
 
 	private void setupNodeListeners(Circle node)
@@ -1,11 +1,19 @@
 package project.view.buttons;
 
+import javafx.application.Platform;
 import javafx.scene.control.Button;
+import javafx.scene.control.Tooltip;
 import project.controller.Controller;
+import project.database.ProgressTracker;
 import project.view.Graph;
 import project.view.Table;
 import project.view.util.Util;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 
 public class MainButtons
 {
@@ -19,6 +27,13 @@ public class MainButtons
 	private Button saveButton;
 	private Button loadButton;
 
+	private static final int PUBLISH_BATCH_SIZE = 500;
+	// The running load or save, null when there is none. A load is pending until the loaded graph is on screen, but
+	// can only be cancelled up to the point it replaces the current one.
+	private CompletableFuture<?> pendingIo = null;
+	private CompletableFuture<?> cancellableIo = null;
+	private Button pendingButton = null;
+
 	public MainButtons(Buttons buttons, Controller controller, Graph graph, Table table)
 	{
 		this.buttons = buttons;
@@ -89,18 +104,122 @@ public class MainButtons
 		}
 	}
 
-	public void save() {
-		controller.saveNodes();
-		controller.saveEdges();
-		Util.displayInfoMessage("Success", "Saved to node_database.json and edge_database.json");
+	// Saving runs in the background; pressing Save again while it runs cancels it
+	public void save()
+	{
+		if (handlePendingIo(saveButton))
+		{
+			return;
+		}
+
+		CompletableFuture<Void> saving = controller.saveAsync(progressListener(saveButton, "Saving"));
+		startIo(saveButton, saving, saving);
+		saving.whenCompleteAsync((result, e) -> {
+			finishIo(saving, saveButton);
+
+			if (e == null)
+			{
+				Util.displayInfoMessage("Success", "Saved to database_segments");
+			}
+			else
+			{
+				displayIoError("Save failed", e);
+			}
+		}, Platform::runLater);
 	}
 
+	// Loading runs in the background and the graph is put on screen in batches; pressing Load again before the graph
+	// is replaced cancels it and keeps the current graph
 	public void load()
 	{
-		controller.loadNodes();
-		controller.loadEdges();
-		table.clearAll();
-		graph.refresh();
+		if (handlePendingIo(loadButton))
+		{
+			return;
+		}
+
+		CompletableFuture<Void> loading = controller.loadAsync(progressListener(loadButton, "Loading"));
+		CompletableFuture<Void> publishing = loading.thenComposeAsync(result -> {
+			table.clearAll();
+			return graph.refreshInBatches(PUBLISH_BATCH_SIZE);
+		}, Platform::runLater);
+		startIo(loadButton, loading, publishing);
+		publishing.whenCompleteAsync((result, e) -> {
+			finishIo(publishing, loadButton);
+
+			if (e != null)
+			{
+				displayIoError("Load failed", e);
+			}
+		}, Platform::runLater);
+	}
+
+	// true while a load or save runs; the button that started it cancels it, the other one has to wait for it
+	private boolean handlePendingIo(Button button)
+	{
+		if (pendingIo == null || pendingIo.isDone())
+		{
+			return false;
+		}
+
+		if (button == pendingButton)
+		{
+			cancellableIo.cancel(true);
+		}
+		else
+		{
+			Util.displayInfoMessage("Please wait", (pendingButton == saveButton ? "Saving" : "Loading")
+					+ " is still in progress.");
+		}
+
+		return true;
+	}
+
+	private void startIo(Button button, CompletableFuture<?> cancellable, CompletableFuture<?> io)
+	{
+		pendingButton = button;
+		cancellableIo = cancellable;
+		pendingIo = io;
+	}
+
+	// a load or save started after this one finished is left alone
+	private void finishIo(CompletableFuture<?> io, Button button)
+	{
+		if (pendingIo == io)
+		{
+			pendingIo = null;
+			cancellableIo = null;
+			pendingButton = null;
+		}
+
+		button.setTooltip(null);
+	}
+
+	private void displayIoError(String header, Throwable e)
+	{
+		Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+		if (!(cause instanceof CancellationException))
+		{
+			Util.displayErrorMessage(header, String.valueOf(cause.getMessage()));
+		}
+	}
+
+	// progress arrives from the I/O thread, at most one update is queued on the FX thread at a time
+	private ProgressTracker.Listener progressListener(Button button, String action)
+	{
+		AtomicBoolean scheduled = new AtomicBoolean();
+
+		return (processed, total) -> {
+			if (scheduled.compareAndSet(false, true))
+			{
+				long percent = total > 0 ? processed * 100 / total : 0;
+
+				Platform.runLater(() -> {
+					scheduled.set(false);
+					button.setTooltip(new Tooltip(action + " " + percent + "% - click again to cancel"));
+				});
+			}
+		};
 	}
 
 	public Button getRunButton()
@@ -43,10 +43,16 @@ public class Charts
 
 	// Calculate using data from Dijkstra.java
 	public XYChart.Series<Number, Number> calculateUserInputGradient(Map<Integer, Integer> results)
+	{
+		return calculateUserInputGradient(results, "Your Results");
+	}
+
+	// Calculate using data from any of the solvers, under the given series name
+	public XYChart.Series<Number, Number> calculateUserInputGradient(Map<Integer, Integer> results, String seriesName)
 	{
 		// Create the data series
 		XYChart.Series<Number, Number> series = new XYChart.Series<>();
-		series.setName("Your Results");
+		series.setName(seriesName);
 
 		// Add data to the series
 		for (Map.Entry<Integer, Integer> entry : results.entrySet())
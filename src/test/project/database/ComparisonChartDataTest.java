@@ -7,6 +7,7 @@ import java.security.NoSuchAlgorithmException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ComparisonChartDataTest
 {
@@ -58,4 +59,36 @@ class ComparisonChartDataTest
 		assertThrows(IllegalArgumentException.class, () -> chartData.getComparisons(0),
 				"getComparisons: Number of nodes must be greater than 1");
 	}
+
+	@Test
+	void testGetPointToPointComparisonsTwoNodes()
+	{
+		chartData.generateGraph(2);
+
+		// the source and target always differ, so both searches have to look at the edge between them
+		for (int i = 0; i < 20; i++)
+		{
+			int[] comparisons = chartData.getPointToPointComparisons(2);
+			assertEquals(2, comparisons.length, "getPointToPointComparisons: Did not return the expected output");
+			assertTrue(comparisons[0] > 0, "getPointToPointComparisons: Did not return the expected output");
+			assertTrue(comparisons[1] > 0, "getPointToPointComparisons: Did not return the expected output");
+		}
+	}
+
+	@Test
+	void testGetPointToPointComparisonsOneWayStopsEarly()
+	{
+		chartData.generateGraph(50);
+		int[] comparisons = chartData.getPointToPointComparisons(50);
+		int fullSolve = chartData.getComparisons(50);
+
+		assertTrue(comparisons[0] <= fullSolve, "getPointToPointComparisons: Did not return the expected output");
+	}
+
+	@Test
+	void testGetPointToPointComparisonsOneNode()
+	{
+		assertThrows(IllegalArgumentException.class, () -> chartData.getPointToPointComparisons(1),
+				"getPointToPointComparisons: Number of nodes must be greater than 1");
+	}
 }
@@ -1,22 +1,43 @@
 package project.database;
 
+import com.alibaba.fastjson.JSONObject;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
 import javafx.scene.text.Text;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.exception.NodeNotFoundException;
 import project.model.dijkstra.Dijkstra;
 import project.model.dijkstra.Edge;
 import project.model.dijkstra.Node;
-
+import project.model.dijkstra.StepLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -185,6 +206,20 @@ class DatabaseTest
 		assertEquals(4, actual, "removeNode: Valid input");
 	}
 
+	@Test
+	void testRemoveNodeWithSharedName()
+	{
+		Circle nodeShape5 = new Circle();
+		Circle nodeShape6 = new Circle();
+		db.addNode(new Text("Node"), nodeShape5);
+		db.addNode(new Text("Node"), nodeShape6);
+
+		db.removeNode(nodeShape6);
+
+		assertTrue(db.getNodesAndLabels().containsKey(nodeShape5), "removeNode: Removed another node with the same name");
+		assertFalse(db.getNodesAndLabels().containsKey(nodeShape6), "removeNode: Did not remove the node");
+	}
+
 	@Test
 	void testRemoveNodeInvalidInput()
 	{
@@ -251,6 +286,415 @@ class DatabaseTest
 		assertNull(actual, "findLabel: Invalid input");
 	}
 
+	@Test
+	void testFindLabelRemovedCircle()
+	{
+		db.removeNode(nodeShape1);
+
+		assertNull(db.findLabel(nodeShape1), "findLabel: Removed node was still found");
+		assertNull(db.findLabel(edgeShape1), "findLabel: Edge of a removed node was still found");
+	}
+
+	@Test
+	void testFindLabelRemovedLine()
+	{
+		db.removeEdge(edgeShape1);
+
+		assertNull(db.findLabel(edgeShape1), "findLabel: Removed edge was still found");
+	}
+
+	@Test
+	void testUpdatedLabelEdgeLabel()
+	{
+		db.updateLabel(edgeLabel1, "7");
+
+		assertEquals("7", db.findLabel(edgeShape1).getText(), "updateLabel: Did not return the expected output");
+	}
+
+	@Test
+	void testSaveAndLoad(@TempDir Path dir)
+	{
+		Path nodeFile = dir.resolve("nodes.json");
+		Path edgeFile = dir.resolve("edges.json");
+		db.saveNodes(nodeFile);
+		db.saveEdges(edgeFile);
+
+		Database loaded = new Database();
+		loaded.loadNodes(nodeFile);
+		loaded.loadEdges(edgeFile);
+
+		List<String> names = loaded.getNodesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+		List<String> weights = loaded.getEdgesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("Node 1", "Node 2", "Node 3", "Node 4"), names, "loadNodes: Did not return the expected output");
+		assertEquals(Arrays.asList("1", "2", "3", "4"), weights, "loadEdges: Did not return the expected output");
+	}
+
+	@Test
+	void testSaveAndLoadGraph(@TempDir Path dir)
+	{
+		Path path = dir.resolve("graph.bin");
+		db.saveGraph(path);
+
+		Database loaded = new Database();
+		loaded.loadGraph(path);
+
+		List<String> names = loaded.getNodesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("Node 1", "Node 2", "Node 3", "Node 4"), names, "loadGraph: Did not return the expected output");
+		assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(), "loadGraph: Did not return the expected output");
+	}
+
+	@Test
+	void testLoadJson(@TempDir Path dir)
+	{
+		Path nodeFile = dir.resolve("node_database.json");
+		Path edgeFile = dir.resolve("edge_database.json");
+		db.saveNodes(nodeFile);
+		db.saveEdges(edgeFile);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		Database loaded = new Database();
+		try
+		{
+			loaded.loadJson(nodeFile, edgeFile, executor, 2);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		List<String> names = loaded.getNodesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("Node 1", "Node 2", "Node 3", "Node 4"), names, "loadJson: Did not return the expected output");
+		assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(), "loadJson: Did not return the expected output");
+	}
+
+	@Test
+	void testSaveWritesSnapshotFirst(@TempDir Path dir)
+	{
+		db.save(dir);
+
+		assertTrue(Files.exists(dir.resolve("database_segments/manifest.json")), "save: Did not write the manifest");
+		assertTrue(Files.exists(dir.resolve("database_segments/nodes-0.1.json")), "save: Did not write the node segment");
+		assertTrue(Files.exists(dir.resolve("database_segments/edges-0.1.json")), "save: Did not write the edge segment");
+		assertFalse(Files.exists(dir.resolve("database_segments/journal-1.jsonl")), "save: Did not return the expected output");
+	}
+
+	@Test
+	void testSaveAppendsEditsToJournal(@TempDir Path dir) throws IOException
+	{
+		db.save(dir);
+		String nodeFile = Files.readString(dir.resolve("database_segments/nodes-0.1.json"));
+
+		db.updateEdgeWeight(edgeShape2, "10");
+		db.removeEdge(edgeShape4);
+		db.updateNodeLabel(nodeShape1, "Start");
+		db.save(dir);
+
+		assertEquals(nodeFile, Files.readString(dir.resolve("database_segments/nodes-0.1.json")), "save: Rewrote the node segment");
+		assertEquals(3, Files.readAllLines(dir.resolve("database_segments/journal-1.jsonl")).size(), "save: Did not return the expected output");
+
+		Database loaded = new Database();
+		loaded.load(dir);
+
+		assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(), "load: Did not replay the journal");
+		assertTrue(loaded.getNodesAndLabels().values().stream().anyMatch(label -> label.getText().equals("Start")),
+				"load: Did not replay the journal");
+	}
+
+	@Test
+	void testFailedCheckpointKeepsPreviousGeneration(@TempDir Path dir) throws IOException
+	{
+		db.save(dir);
+		db.removeNode(nodeShape4);
+		db.updateEdgeWeight(edgeShape1, "9");
+		db.save(dir);
+
+		// the node segment of the next generation cannot be written
+		Files.createDirectories(dir.resolve("database_segments/nodes-0.2.json/blocked"));
+		db.updateNodeLabel(nodeShape1, "Start");
+
+		assertThrows(RuntimeException.class, () -> db.checkpoint(dir), "checkpoint: Did not throw the expected exception");
+		assertTrue(Files.exists(dir.resolve("database_segments/nodes-0.1.json")), "checkpoint: Deleted the previous generation");
+
+		Database loaded = new Database();
+		loaded.load(dir);
+
+		assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(), "load: Did not return the expected output");
+		assertTrue(loaded.getNodesAndLabels().values().stream().anyMatch(label -> label.getText().equals("Start")),
+				"load: Lost the edits journaled before the checkpoint");
+	}
+
+	@Test
+	void testSaveAfterLoadingTornJournal(@TempDir Path dir) throws IOException, NodeNotFoundException
+	{
+		db.save(dir);
+		db.updateNodeLabel(nodeShape2, "Middle");
+		db.save(dir);
+		Files.write(dir.resolve("database_segments/journal-1.jsonl"), "{\"op\":\"ADD_N".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		Database loaded = new Database();
+		loaded.load(dir);
+		loaded.updateNodeLabel(loaded.getNodeShape(db.findNode(nodeShape1).getId()), "Start");
+		loaded.save(dir);
+
+		Database reloaded = new Database();
+		reloaded.load(dir);
+
+		assertEquals(loaded.snapshot().fingerprint(), reloaded.snapshot().fingerprint(),
+				"load: Did not return the expected output");
+		assertTrue(reloaded.getNodesAndLabels().values().stream().anyMatch(label -> label.getText().equals("Start")),
+				"load: Lost the edits saved after the torn entry");
+	}
+
+	@Test
+	void testLoadRejectsJournalAddingExistingNode(@TempDir Path dir) throws IOException
+	{
+		db.save(dir);
+		new Journal(dir.resolve("database_segments/journal-1.jsonl")).append(List.of(new JSONObject()
+				.fluentPut("op", "ADD_NODE").fluentPut("id", 1).fluentPut("name", "Other").fluentPut("x", 5).fluentPut("y", 5)));
+
+		assertThrows(IllegalStateException.class, () -> new Database().load(dir), "load: Applied the entry over another node");
+	}
+
+	@Test
+	void testSaveRecordsMovedNodes(@TempDir Path dir) throws NodeNotFoundException
+	{
+		db.save(dir);
+		nodeShape2.setCenterX(120);
+		db.save(dir);
+
+		Database loaded = new Database();
+		loaded.load(dir);
+
+		assertEquals(120, loaded.getNodeShape(db.findNode(nodeShape2).getId()).getCenterX(), "load: Did not replay the move");
+	}
+
+	@Test
+	void testCheckpointOnlyRewritesDirtySegments(@TempDir Path dir) throws IOException
+	{
+		for (int i = 0; i < 1100; i++)
+		{
+			db.addNode(new Text("Extra " + i), new Circle());
+		}
+
+		db.save(dir);
+		Path untouched = dir.resolve("database_segments/nodes-1.1.json");
+		FileTime written = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(untouched, written);
+
+		db.updateNodeLabel(nodeShape1, "Start");
+		db.checkpoint(dir);
+
+		assertEquals(written, Files.getLastModifiedTime(untouched), "checkpoint: Rewrote a segment that did not change");
+		assertTrue(Files.readString(dir.resolve("database_segments/nodes-0.2.json")).contains("Start"),
+				"checkpoint: Did not rewrite the changed segment");
+		assertFalse(Files.exists(dir.resolve("database_segments/nodes-0.1.json")), "checkpoint: Did not delete the replaced segment");
+
+		Database loaded = new Database();
+		loaded.load(dir);
+
+		assertEquals(1104, loaded.getNodesAndLabels().size(), "load: Did not return the expected output");
+	}
+
+	@Test
+	void testCheckpointDeletesEmptySegments(@TempDir Path dir)
+	{
+		db.save(dir);
+		db.removeEdge(edgeShape1);
+		db.removeEdge(edgeShape2);
+		db.removeEdge(edgeShape3);
+		db.removeEdge(edgeShape4);
+		db.checkpoint(dir);
+
+		assertFalse(Files.exists(dir.resolve("database_segments/edges-0.1.json")), "checkpoint: Did not delete the empty segment");
+		assertFalse(Files.exists(dir.resolve("database_segments/edges-0.2.json")), "checkpoint: Wrote the empty segment");
+	}
+
+	@Test
+	void testLoadLegacyFiles(@TempDir Path dir)
+	{
+		db.saveNodes(dir.resolve("node_database.json"));
+		db.saveEdges(dir.resolve("edge_database.json"));
+
+		Database loaded = new Database();
+		loaded.load(dir);
+		loaded.save(dir);
+
+		assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(), "load: Did not return the expected output");
+		assertTrue(Files.exists(dir.resolve("database_segments/nodes-0.1.json")), "save: Did not write the node segment");
+	}
+
+	@Test
+	void testLoadedIdsAreNotHandedOutAgain(@TempDir Path dir)
+	{
+		db.removeNode(nodeShape2);
+		db.save(dir);
+		Node.resetId();
+		Edge.resetId();
+
+		Database loaded = new Database();
+		loaded.load(dir);
+		Circle nodeShape5 = new Circle();
+		loaded.addNode(new Text("Node 5"), nodeShape5);
+		loaded.addEdge(loaded.getNodeShape(1), nodeShape5, new Text("5"), new Line());
+		loaded.save(dir);
+
+		Database reloaded = new Database();
+		reloaded.load(dir);
+
+		List<String> names = reloaded.getNodesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+		List<String> weights = reloaded.getEdgesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("Node 1", "Node 3", "Node 4", "Node 5"), names, "load: Lost a node to a reused id");
+		assertEquals(Arrays.asList("2", "4", "5"), weights, "load: Lost an edge to a reused id");
+	}
+
+	@Test
+	void testSaveAsyncAndLoadAsync(@TempDir Path dir) throws Exception
+	{
+		List<Long> progress = new ArrayList<>();
+		db.saveAsync(dir, Runnable::run, Runnable::run, (processed, total) -> progress.add(processed)).get();
+
+		assertEquals(Long.valueOf(8), progress.get(progress.size() - 1), "saveAsync: Did not report every record");
+
+		long[] lastProgress = new long[2];
+		Database loaded = Database.loadAsync(dir, Runnable::run, (processed, total) -> {
+			lastProgress[0] = processed;
+			lastProgress[1] = total;
+		}).get();
+
+		assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(), "loadAsync: Did not return the expected output");
+		assertTrue(lastProgress[1] > 0 && lastProgress[0] == lastProgress[1], "loadAsync: Did not report every byte");
+	}
+
+	@Test
+	void testLoadAsyncParsesSegmentsInParallel(@TempDir Path dir) throws Exception
+	{
+		for (int i = 0; i < 3000; i++)
+		{
+			Circle nodeShape = new Circle(i, i, 10);
+			db.addNode(new Text("Extra " + i), nodeShape);
+			db.addEdge(nodeShape1, nodeShape, new Text(String.valueOf(i % 50 + 1)), new Line());
+		}
+		db.save(dir);
+
+		ExecutorService parseExecutor = Executors.newFixedThreadPool(4);
+		try
+		{
+			AtomicLong maxProgress = new AtomicLong();
+			Database loaded = Database.loadAsync(dir, Runnable::run, parseExecutor,
+					(processed, total) -> maxProgress.accumulateAndGet(processed, Math::max)).get();
+
+			assertEquals(db.snapshot().fingerprint(), loaded.snapshot().fingerprint(),
+					"loadAsync: Did not return the expected output");
+			assertEquals(new SegmentStore(dir.resolve("database_segments")).size(), maxProgress.get(),
+					"loadAsync: Did not report every byte");
+		}
+		finally
+		{
+			parseExecutor.shutdown();
+		}
+	}
+
+	@Test
+	void testLoadAsyncCancelledWhileParsing(@TempDir Path dir)
+	{
+		for (int i = 0; i < 3000; i++)
+		{
+			db.addNode(new Text("Extra " + i), new Circle());
+		}
+		db.save(dir);
+
+		ExecutorService parseExecutor = Executors.newFixedThreadPool(4);
+		try
+		{
+			// cancelled on the first record parsed
+			List<Runnable> tasks = new ArrayList<>();
+			List<CompletableFuture<Database>> futures = new ArrayList<>();
+			CompletableFuture<Database> future = Database.loadAsync(dir, tasks::add, parseExecutor,
+					(processed, total) -> futures.get(0).cancel(true));
+			futures.add(future);
+			tasks.forEach(Runnable::run);
+
+			assertThrows(CancellationException.class, future::join, "loadAsync: Did not stop the load");
+		}
+		finally
+		{
+			parseExecutor.shutdown();
+		}
+	}
+
+	@Test
+	void testLoadAsyncCancelled(@TempDir Path dir)
+	{
+		db.save(dir);
+		List<Runnable> tasks = new ArrayList<>();
+
+		CompletableFuture<Database> future = Database.loadAsync(dir, tasks::add, (processed, total) -> {});
+		future.cancel(true);
+		tasks.forEach(Runnable::run);
+
+		assertTrue(future.isCancelled(), "loadAsync: Did not return the expected output");
+	}
+
+	@Test
+	void testCancelledSaveKeepsPreviousGeneration(@TempDir Path dir)
+	{
+		db.save(dir);
+		db.clear();
+		db.addNode(new Text("Other"), new Circle());
+
+		// cancelled as soon as the save reports progress, while it writes the new segments
+		List<Runnable> tasks = new ArrayList<>();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		futures.add(db.saveAsync(dir, tasks::add, Runnable::run, (processed, total) -> futures.get(0).cancel(true)));
+		tasks.forEach(Runnable::run);
+
+		assertTrue(futures.get(0).isCancelled(), "saveAsync: Did not return the expected output");
+
+		Database loaded = new Database();
+		loaded.load(dir);
+
+		List<String> names = loaded.getNodesAndLabels().values().stream().map(Text::getText).sorted()
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("Node 1", "Node 2", "Node 3", "Node 4"), names, "load: Cancelling the save lost the saved graph");
+	}
+
+	@Test
+	void testSaveAsyncFailureForcesFullSave(@TempDir Path dir) throws IOException
+	{
+		Path file = dir.resolve("not a directory");
+		Files.writeString(file, "");
+
+		CompletableFuture<Void> future = db.saveAsync(file, Runnable::run, Runnable::run, (processed, total) -> {});
+
+		assertTrue(future.isCompletedExceptionally(), "saveAsync: Did not return the expected output");
+
+		db.save(dir);
+		assertTrue(Files.exists(dir.resolve("database_segments/nodes-0.1.json")), "save: Did not write the node segment");
+	}
+
+	@Test
+	void testSaveNodesFormat(@TempDir Path dir) throws IOException
+	{
+		Path nodeFile = dir.resolve("nodes.json");
+		db.saveNodes(nodeFile);
+
+		String actual = Files.readString(nodeFile);
+
+		assertTrue(actual.startsWith("[{\"id\":1,\"name\":\"Node 1\",\"xCoord\":"), "saveNodes: Did not return the expected output");
+	}
+
 	@Test
 	void testEdgeExistsValidInput()
 	{
@@ -269,6 +713,46 @@ class DatabaseTest
 		assertEquals(expected, actual, "edgeExists: Invalid input");
 	}
 
+	@Test
+	void testEdgeExistsAfterRemoveEdge()
+	{
+		db.removeEdge(edgeShape1);
+
+		assertEquals(false, db.edgeExists(nodeShape1, nodeShape2), "edgeExists: Removed edge was still found");
+		assertEquals(false, db.edgeExists(nodeShape2, nodeShape1), "edgeExists: Removed edge was still found");
+	}
+
+	@Test
+	void testEdgeExistsAfterRemoveNode()
+	{
+		db.removeNode(nodeShape3);
+
+		assertEquals(false, db.edgeExists(nodeShape1, nodeShape3), "edgeExists: Edge of a removed node was still found");
+		assertEquals(true, db.edgeExists(nodeShape1, nodeShape2), "edgeExists: Did not return the expected output");
+	}
+
+	@Test
+	void testGetAttachedEdgesAfterRemoveEdge()
+	{
+		db.removeEdge(edgeShape2);
+
+		List<Line> expected = Arrays.asList(edgeShape3, edgeShape4);
+		List<Line> actual = db.getAttachedEdges(nodeShape3);
+
+		assertEquals(expected, actual, "getAttachedEdges: Did not return the expected output");
+	}
+
+	@Test
+	void testGetAdjacentNodesAndEdgesAfterRemoveNode()
+	{
+		db.removeNode(nodeShape2);
+
+		Map<Circle, Line> expected = Map.of(nodeShape3, edgeShape2);
+		Map<Circle, Line> actual = db.getAdjacentNodesAndEdges(nodeShape1);
+
+		assertEquals(expected, actual, "getAdjacentNodesAndEdges: Did not return the expected output");
+	}
+
 	@Test
 	void testUpdatedLabelValidInput()
 	{
@@ -420,6 +904,112 @@ class DatabaseTest
 				"run: Did not throw the expected exception");
 	}
 
+	@Test
+	void testRunDijkstraAfterRemoveEdge()
+	{
+		db.removeEdge(edgeShape1);
+		db.setStartNode(nodeShape1);
+
+		String[] actual = getFinalLValues(db.runDijkstra().toStepMap());
+
+		assertArrayEquals(new String[]{"0", "5", "2", "6"}, actual, "runDijkstra: Removed edge was still used");
+	}
+
+	@Test
+	void testRunDijkstraAfterUpdateEdgeWeight()
+	{
+		db.updateEdgeWeight(edgeShape2, "10");
+		db.setStartNode(nodeShape1);
+
+		String[] actual = getFinalLValues(db.runDijkstra().toStepMap());
+
+		assertArrayEquals(new String[]{"0", "1", "4", "8"}, actual, "runDijkstra: Updated weight was not used");
+	}
+
+	@Test
+	void testRunDijkstraReusesResult()
+	{
+		db.setStartNode(nodeShape1);
+
+		StepLog first = db.runDijkstra();
+		StepLog second = db.runDijkstra();
+
+		assertSame(first, second, "runDijkstra: Did not reuse the cached result");
+		assertEquals(1, db.getResultCache().getHits(), "runDijkstra: Did not record the cache hit");
+	}
+
+	@Test
+	void testRunDijkstraAfterEditRecomputes()
+	{
+		db.setStartNode(nodeShape1);
+
+		StepLog first = db.runDijkstra();
+		long version = db.getVersion();
+		db.updateEdgeWeight(edgeShape2, "10");
+		StepLog second = db.runDijkstra();
+
+		assertTrue(db.getVersion() > version, "updateEdgeWeight: Did not bump the graph version");
+		assertNotSame(first, second, "runDijkstra: Reused a result from an older graph version");
+		assertArrayEquals(new String[]{"0", "1", "4", "8"}, getFinalLValues(second.toStepMap()),
+				"runDijkstra: Did not return the expected output");
+	}
+
+	@Test
+	void testGetShortestPathValidInput()
+	{
+		db.setStartNode(nodeShape1);
+
+		List<Circle> expected = Arrays.asList(nodeShape1, nodeShape3, nodeShape4);
+		List<Circle> actual = db.getShortestPath(nodeShape4);
+
+		assertEquals(expected, actual, "getShortestPath: Valid input");
+	}
+
+	@Test
+	void testGetShortestPathAfterUpdateEdgeWeight()
+	{
+		db.setStartNode(nodeShape1);
+		db.getShortestPath(nodeShape4);
+		db.updateEdgeWeight(edgeShape2, "10");
+
+		List<Circle> expected = Arrays.asList(nodeShape1, nodeShape2, nodeShape3, nodeShape4);
+		List<Circle> actual = db.getShortestPath(nodeShape4);
+
+		assertEquals(expected, actual, "getShortestPath: Updated weight was not used");
+	}
+
+	@Test
+	void testGetShortestPathAfterRemoveEdge()
+	{
+		db.setStartNode(nodeShape1);
+		db.getShortestPath(nodeShape4);
+		db.removeEdge(edgeShape4);
+
+		List<Circle> actual = db.getShortestPath(nodeShape4);
+
+		assertTrue(actual.isEmpty(), "getShortestPath: Removed edge was still used");
+	}
+
+	@Test
+	void testGetShortestPathNoStartNode()
+	{
+		List<Circle> actual = db.getShortestPath(nodeShape4);
+
+		assertTrue(actual.isEmpty(), "getShortestPath: No start node");
+	}
+
+	private String[] getFinalLValues(Map<String[], String[]> steps)
+	{
+		String[] lValues = null;
+
+		for (String[] values : steps.values())
+		{
+			lValues = values;
+		}
+
+		return lValues;
+	}
+
 	private boolean deepEquals(Map<String[], String[]> expectedSteps, Map<String[], String[]> actualSteps)
 	{
 		if (expectedSteps == actualSteps)
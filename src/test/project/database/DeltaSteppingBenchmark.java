@@ -0,0 +1,62 @@
+package project.database;
+
+import project.model.CsrGraph;
+import project.model.dijkstra.CsrSearch;
+import project.model.dijkstra.DeltaStepping;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ForkJoinPool;
+
+// Times delta-stepping on complete graphs from ComparisonChartData at 1, 2, 4, 8 and 16 threads,
+// against a single-threaded heap Dijkstra on the same snapshot.
+// Usage: DeltaSteppingBenchmark [number of nodes] [runs per thread count]
+// Kept with the tests so it stays out of the application; it is run by hand, not by the test suite.
+public class DeltaSteppingBenchmark
+{
+	private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+
+	public static void main(String[] args) throws NoSuchAlgorithmException
+	{
+		int numberOfNodes = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		ComparisonChartData data = new ComparisonChartData();
+		data.generateGraph(numberOfNodes);
+		CsrGraph graph = data.snapshot();
+		int sourceId = graph.idOf(0);
+
+		CsrSearch dijkstra = new CsrSearch(graph);
+
+		// warm up before timing, like delta-stepping below
+		dijkstra.runWithHeap(0, -1);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < runs; i++)
+		{
+			dijkstra.runWithHeap(0, -1);
+		}
+		double baseline = (System.nanoTime() - start) / 1e6 / runs;
+
+		System.out.printf("%d nodes, %d arcs, %d runs%n", graph.size(), graph.arcCount(), runs);
+		System.out.printf("Dijkstra (heap): %.2f ms%n", baseline);
+
+		for (int threads : THREAD_COUNTS)
+		{
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			DeltaStepping deltaStepping = new DeltaStepping(graph, pool);
+
+			// warm up before timing
+			deltaStepping.run(sourceId);
+
+			start = System.nanoTime();
+			for (int i = 0; i < runs; i++)
+			{
+				deltaStepping.run(sourceId);
+			}
+			double time = (System.nanoTime() - start) / 1e6 / runs;
+
+			System.out.printf("Delta-stepping, %2d threads: %.2f ms (%.2fx Dijkstra)%n", threads, time, baseline / time);
+			pool.shutdown();
+		}
+	}
+}
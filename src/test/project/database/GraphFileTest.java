@@ -0,0 +1,113 @@
+package project.database;
+
+import javafx.scene.shape.Circle;
+import javafx.scene.text.Text;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.model.CsrGraph;
+import project.model.dijkstra.CsrSearch;
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+import project.model.dijkstra.po.EdgePO;
+import project.model.dijkstra.po.NodePO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GraphFileTest
+{
+	private List<Node> nodes;
+	private List<Edge> edges;
+
+	@BeforeEach
+	void setUp()
+	{
+		Node nodeA = new Node(new Text("A"), new Circle(10, 20, 50));
+		Node nodeB = new Node(new Text("Bé"), new Circle(30, 40, 50));
+		Node nodeC = new Node(new Text("C"), new Circle(50, 60, 50));
+		Node nodeD = new Node("D");
+
+		nodes = new LinkedList<>(Arrays.asList(nodeA, nodeB, nodeC, nodeD));
+		edges = new LinkedList<>(Arrays.asList(
+				new Edge(nodeA, nodeB, 4),
+				new Edge(nodeB, nodeC, 1),
+				new Edge(nodeA, nodeC, 7)
+		));
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testWriteAndMap(@TempDir Path dir) throws IOException
+	{
+		Path path = dir.resolve("graph.bin");
+		GraphFile.write(path, nodes, edges);
+		GraphFile file = GraphFile.map(path);
+
+		assertEquals(4, file.getNumOfNodes(), "getNumOfNodes: Did not return the expected output");
+		assertEquals(3, file.getNumOfEdges(), "getNumOfEdges: Did not return the expected output");
+
+		NodePO node = file.getNode(1);
+		assertEquals(nodes.get(1).getId(), node.getId(), "getNode: Did not return the expected output");
+		assertEquals("Bé", node.getName(), "getNode: Did not return the expected output");
+		assertEquals(30, node.getxCoord(), "getNode: Did not return the expected output");
+		assertEquals(40, node.getyCoord(), "getNode: Did not return the expected output");
+		assertEquals(Double.NaN, file.getNode(3).getxCoord(), "getNode: Did not return the expected output");
+
+		EdgePO edge = file.getEdge(2);
+		assertEquals(edges.get(2).getId(), edge.getId(), "getEdge: Did not return the expected output");
+		assertEquals(nodes.get(0).getId(), edge.getFrontNodeId(), "getEdge: Did not return the expected output");
+		assertEquals(nodes.get(2).getId(), edge.getEndNodeId(), "getEdge: Did not return the expected output");
+		assertEquals(7, edge.getWeight(), "getEdge: Did not return the expected output");
+	}
+
+	@Test
+	void testToCsrGraph(@TempDir Path dir) throws IOException
+	{
+		Path path = dir.resolve("graph.bin");
+		GraphFile.write(path, nodes, edges);
+
+		CsrGraph expected = CsrGraph.of(nodes, edges);
+		CsrGraph actual = GraphFile.map(path).toCsrGraph();
+
+		assertEquals(expected.fingerprint(), actual.fingerprint(), "toCsrGraph: Did not return the expected output");
+		assertArrayEquals(new CsrSearch(expected).runWithHeap(0, -1).getLValues(),
+				new CsrSearch(actual).runWithHeap(0, -1).getLValues(), "toCsrGraph: Did not return the expected output");
+		assertEquals(30, actual.getX(1), "toCsrGraph: Did not return the expected output");
+	}
+
+	@Test
+	void testMapInvalidFile(@TempDir Path dir) throws IOException
+	{
+		Path path = dir.resolve("graph.bin");
+		Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+		assertThrows(IOException.class, () -> GraphFile.map(path), "map: Did not throw the expected exception");
+	}
+
+	@Test
+	void testMapTruncatedFile(@TempDir Path dir) throws IOException
+	{
+		Path path = dir.resolve("graph.bin");
+		GraphFile.write(path, nodes, edges);
+		byte[] bytes = Files.readAllBytes(path);
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - 4));
+
+		assertThrows(IOException.class, () -> GraphFile.map(path), "map: Did not throw the expected exception");
+	}
+}
@@ -0,0 +1,131 @@
+package project.database;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalTest
+{
+	@Test
+	void testAppendAndRead(@TempDir Path dir) throws IOException
+	{
+		Journal journal = new Journal(dir.resolve("journal.jsonl"));
+		journal.append(Arrays.asList(entry("ADD_NODE", 1), entry("SET_NAME", 1)));
+		journal.append(List.of(entry("REMOVE_NODE", 1)));
+
+		List<JSONObject> actual = journal.read();
+
+		assertEquals(3, actual.size(), "read: Did not return the expected output");
+		assertEquals("REMOVE_NODE", actual.get(2).getString("op"), "read: Did not return the expected output");
+		assertEquals(1, actual.get(2).getIntValue("id"), "read: Did not return the expected output");
+	}
+
+	@Test
+	void testReadSkipsTornLastLine(@TempDir Path dir) throws IOException
+	{
+		Journal journal = new Journal(dir.resolve("journal.jsonl"));
+		journal.append(List.of(entry("ADD_NODE", 1)));
+		Files.write(journal.getPath(), "{\"op\":\"ADD_N".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		List<JSONObject> actual = journal.read();
+
+		assertEquals(1, actual.size(), "read: Did not leave out the unfinished entry");
+	}
+
+	@Test
+	void testAppendCutsOffTornLastLine(@TempDir Path dir) throws IOException
+	{
+		Journal journal = new Journal(dir.resolve("journal.jsonl"));
+		journal.append(List.of(entry("ADD_NODE", 1)));
+		Files.write(journal.getPath(), "{\"op\":\"ADD_N".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		journal.append(List.of(entry("REMOVE_NODE", 1)));
+
+		List<JSONObject> actual = journal.read();
+
+		assertEquals(2, actual.size(), "append: Did not return the expected output");
+		assertEquals("REMOVE_NODE", actual.get(1).getString("op"), "append: Wrote onto the unfinished entry");
+	}
+
+	@Test
+	void testAppendToTornFirstLine(@TempDir Path dir) throws IOException
+	{
+		Journal journal = new Journal(dir.resolve("journal.jsonl"));
+		Files.write(journal.getPath(), "{\"op\":\"ADD_N".getBytes(StandardCharsets.UTF_8));
+		journal.append(List.of(entry("ADD_NODE", 2)));
+
+		assertEquals(List.of(2), journal.read().stream().map(entry -> entry.getIntValue("id")).collect(Collectors.toList()),
+				"append: Wrote onto the unfinished entry");
+	}
+
+	@Test
+	void testReadMissingJournal(@TempDir Path dir) throws IOException
+	{
+		assertTrue(new Journal(dir.resolve("journal.jsonl")).read().isEmpty(), "read: Did not return the expected output");
+	}
+
+	@Test
+	void testReset(@TempDir Path dir) throws IOException
+	{
+		Journal journal = new Journal(dir.resolve("journal.jsonl"));
+		journal.append(List.of(entry("ADD_NODE", 1)));
+		journal.reset();
+
+		assertTrue(journal.read().isEmpty(), "reset: Did not return the expected output");
+	}
+
+	@Test
+	void testAtomicFileReplacesTarget(@TempDir Path dir) throws IOException
+	{
+		Path target = dir.resolve("file.json");
+		Files.writeString(target, "old");
+
+		AtomicFile.write(target, out -> {
+			out.write("new".getBytes(StandardCharsets.UTF_8));
+			out.close();
+		});
+
+		assertEquals("new", Files.readString(target), "write: Did not return the expected output");
+		try (Stream<Path> files = Files.list(dir))
+		{
+			assertEquals(1, files.count(), "write: Left a temporary file behind");
+		}
+	}
+
+	@Test
+	void testAtomicFileFailureKeepsTarget(@TempDir Path dir) throws IOException
+	{
+		Path target = dir.resolve("file.json");
+		Files.writeString(target, "old");
+
+		assertThrows(IOException.class, () -> AtomicFile.write(target, out -> {
+			out.write("partial".getBytes(StandardCharsets.UTF_8));
+			throw new IOException("disk full");
+		}), "write: Did not throw the expected exception");
+
+		assertEquals("old", Files.readString(target), "write: Did not keep the old file");
+		try (Stream<Path> files = Files.list(dir))
+		{
+			assertFalse(files.anyMatch(file -> file.toString().endsWith(".tmp")), "write: Left a temporary file behind");
+		}
+	}
+
+	private JSONObject entry(String op, int id)
+	{
+		return new JSONObject().fluentPut("op", op).fluentPut("id", id).fluentPut("name", "Node " + id);
+	}
+}
@@ -0,0 +1,117 @@
+package project.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.model.CsrGraph;
+import project.model.dijkstra.po.EdgePO;
+import project.model.dijkstra.po.NodePO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelJsonLoaderTest
+{
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp()
+	{
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		executor.shutdown();
+	}
+
+	@Test
+	void testLoad(@TempDir Path dir) throws IOException
+	{
+		Path nodeFile = dir.resolve("node_database.json");
+		Path edgeFile = dir.resolve("edge_database.json");
+		StringBuilder nodes = new StringBuilder("[");
+		StringBuilder edges = new StringBuilder("[");
+
+		for (int i = 0; i < 100; i++)
+		{
+			// names that would break a split on braces or commas alone
+			nodes.append(i == 0 ? "" : ",").append("\n\t{\"id\":").append(i).append(",\"name\":\"},{\\\"é ").append(i)
+					.append("\",\"xCoord\":").append(i * 1.5).append(",\"yCoord\":").append(-i).append('}');
+		}
+		for (int i = 0; i < 99; i++)
+		{
+			edges.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"frontNodeId\":").append(i)
+					.append(",\"endNodeId\":").append(i + 1).append(",\"weight\":").append(i % 7 + 1).append('}');
+		}
+
+		Files.write(nodeFile, nodes.append("\n]").toString().getBytes(StandardCharsets.UTF_8));
+		Files.write(edgeFile, edges.append(']').toString().getBytes(StandardCharsets.UTF_8));
+
+		ParallelJsonLoader.Columns columns = new ParallelJsonLoader(executor, 4, 1).load(nodeFile, edgeFile);
+
+		assertEquals(100, columns.getNumOfNodes(), "load: Did not return the expected output");
+		assertEquals(99, columns.getNumOfEdges(), "load: Did not return the expected output");
+
+		NodePO node = columns.getNode(42);
+		assertEquals(42, node.getId(), "load: Did not return the expected output");
+		assertEquals("},{\"é 42", node.getName(), "load: Did not return the expected output");
+		assertEquals(63, node.getxCoord(), "load: Did not return the expected output");
+		assertEquals(-42, node.getyCoord(), "load: Did not return the expected output");
+
+		EdgePO edge = columns.getEdge(98);
+		assertEquals(98, edge.getId(), "load: Did not return the expected output");
+		assertEquals(98, edge.getFrontNodeId(), "load: Did not return the expected output");
+		assertEquals(99, edge.getEndNodeId(), "load: Did not return the expected output");
+		assertEquals(98 % 7 + 1, edge.getWeight(), "load: Did not return the expected output");
+
+		CsrGraph graph = columns.toCsrGraph();
+		assertEquals(100, graph.size(), "toCsrGraph: Did not return the expected output");
+		assertEquals(198, graph.arcCount(), "toCsrGraph: Did not return the expected output");
+	}
+
+	@Test
+	void testLoadEmptyArrays(@TempDir Path dir) throws IOException
+	{
+		Path nodeFile = dir.resolve("node_database.json");
+		Path edgeFile = dir.resolve("edge_database.json");
+		Files.writeString(nodeFile, "[]");
+		Files.writeString(edgeFile, " [ ] ");
+
+		ParallelJsonLoader.Columns columns = new ParallelJsonLoader(executor, 4).load(nodeFile, edgeFile);
+
+		assertEquals(0, columns.getNumOfNodes(), "load: Did not return the expected output");
+		assertEquals(0, columns.getNumOfEdges(), "load: Did not return the expected output");
+	}
+
+	@Test
+	void testLoadMalformedFile(@TempDir Path dir) throws IOException
+	{
+		Path nodeFile = dir.resolve("node_database.json");
+		Path edgeFile = dir.resolve("edge_database.json");
+		Files.writeString(nodeFile, "[{\"id\":1,\"name\":\"A\"}");
+		Files.writeString(edgeFile, "[]");
+
+		assertThrows(IOException.class, () -> new ParallelJsonLoader(executor, 4).load(nodeFile, edgeFile),
+				"load: Did not throw the expected exception");
+	}
+
+	@Test
+	void testLoadMissingFile(@TempDir Path dir) throws IOException
+	{
+		Path edgeFile = dir.resolve("edge_database.json");
+		Files.writeString(edgeFile, "[]");
+
+		assertThrows(IOException.class, () -> new ParallelJsonLoader(executor, 4).load(dir.resolve("missing.json"), edgeFile),
+				"load: Did not throw the expected exception");
+	}
+}
@@ -0,0 +1,67 @@
+package project.database;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResultCacheTest
+{
+	@Test
+	void testGetAndPut()
+	{
+		ResultCache<String> cache = new ResultCache<>(100, String::length);
+		cache.put(1, 5, "result");
+
+		assertEquals("result", cache.get(1, 5), "get: Did not return the expected output");
+		assertNull(cache.get(2, 5), "get: Did not return the expected output");
+		assertNull(cache.get(1, 6), "get: Did not return the expected output");
+		assertEquals(1, cache.getHits(), "getHits: Did not return the expected output");
+		assertEquals(2, cache.getMisses(), "getMisses: Did not return the expected output");
+	}
+
+	@Test
+	void testEvictsLeastRecentlyUsed()
+	{
+		ResultCache<String> cache = new ResultCache<>(10, String::length);
+		cache.put(1, 1, "aaaa");
+		cache.put(1, 2, "bbbb");
+		cache.get(1, 1);
+		cache.put(1, 3, "cccc");
+
+		assertEquals("aaaa", cache.get(1, 1), "get: Did not return the expected output");
+		assertNull(cache.get(1, 2), "get: Did not evict the least recently used entry");
+		assertEquals(1, cache.getEvictions(), "getEvictions: Did not return the expected output");
+		assertEquals(8, cache.getSize(), "getSize: Did not return the expected output");
+	}
+
+	@Test
+	void testPutLargerThanBudget()
+	{
+		ResultCache<String> cache = new ResultCache<>(3, String::length);
+		cache.put(1, 1, "aaaa");
+
+		assertEquals(0, cache.getNumOfEntries(), "put: Did not return the expected output");
+	}
+
+	@Test
+	void testRemoveOlderThan()
+	{
+		ResultCache<String> cache = new ResultCache<>(100, String::length);
+		cache.put(1, 1, "old");
+		cache.put(2, 1, "new");
+		cache.removeOlderThan(2);
+
+		assertNull(cache.get(1, 1), "removeOlderThan: Did not remove the older version");
+		assertEquals("new", cache.get(2, 1), "removeOlderThan: Removed the current version");
+		assertEquals(3, cache.getSize(), "getSize: Did not return the expected output");
+	}
+
+	@Test
+	void testNegativeBudget()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new ResultCache<String>(-1, String::length),
+				"ResultCache: Did not throw the expected exception");
+	}
+}
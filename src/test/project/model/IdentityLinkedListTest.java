@@ -0,0 +1,106 @@
+package project.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityLinkedListTest
+{
+	private IdentityLinkedList<String> list;
+	private String a;
+	private String b;
+	private String c;
+
+	@BeforeEach
+	void setUp()
+	{
+		list = new IdentityLinkedList<>();
+		a = "A";
+		// equal to each other, but not the same objects
+		b = new String("B");
+		c = new String("B");
+
+		list.add(a);
+		list.add(b);
+		list.add(c);
+	}
+
+	@Test
+	void testKeepsInsertionOrder()
+	{
+		assertEquals(Arrays.asList("A", "B", "B"), list, "add: Did not keep the insertion order");
+		assertEquals(3, list.size(), "size: Did not return the expected output");
+	}
+
+	@Test
+	void testRemoveByIdentity()
+	{
+		assertTrue(list.remove(c), "remove: Did not return the expected output");
+		assertFalse(list.contains(c), "remove: Did not remove the element");
+		assertTrue(list.contains(b), "remove: Removed an equal element");
+		assertFalse(list.remove(new String("A")), "remove: Removed an element that is not in the list");
+		assertEquals(2, list.size(), "remove: Did not return the expected size");
+	}
+
+	@Test
+	void testAddTwiceThrows()
+	{
+		assertThrows(IllegalArgumentException.class, () -> list.add(a), "add: Did not throw the expected exception");
+	}
+
+	@Test
+	void testIteratorRemoveAndAdd()
+	{
+		ListIterator<String> iterator = list.listIterator();
+		iterator.next();
+		iterator.next();
+		iterator.remove();
+		iterator.add("D");
+
+		assertEquals(Arrays.asList("A", "D", "B"), list, "listIterator: Did not return the expected output");
+		assertFalse(list.contains(b), "listIterator: Did not remove the element");
+		assertEquals(2, iterator.nextIndex(), "listIterator: Did not return the expected index");
+
+		assertEquals("D", iterator.previous(), "listIterator: Did not return the expected output");
+		iterator.remove();
+		assertEquals(Arrays.asList("A", "B"), list, "listIterator: Did not return the expected output");
+	}
+
+	@Test
+	void testRemoveIf()
+	{
+		list.removeIf(element -> element == b);
+
+		assertEquals(List.of("A", "B"), list, "removeIf: Did not return the expected output");
+		assertTrue(list.contains(c), "removeIf: Removed an equal element");
+	}
+
+	@Test
+	void testConcurrentModification()
+	{
+		Iterator<String> iterator = list.iterator();
+		iterator.next();
+		list.remove(b);
+
+		assertThrows(ConcurrentModificationException.class, iterator::next, "iterator: Did not throw the expected exception");
+	}
+
+	@Test
+	void testClear()
+	{
+		list.clear();
+		list.add(a);
+
+		assertEquals(List.of("A"), list, "clear: Did not return the expected output");
+	}
+}
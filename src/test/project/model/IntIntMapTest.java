@@ -0,0 +1,89 @@
+package project.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntIntMapTest
+{
+	private IntIntMap map;
+
+	@BeforeEach
+	void setUp()
+	{
+		map = new IntIntMap();
+	}
+
+	@Test
+	void testGetMissingKey()
+	{
+		assertEquals(-1, map.get(5, -1), "get: Did not return the default value");
+		assertFalse(map.containsKey(5), "containsKey: Did not return the expected output");
+	}
+
+	@Test
+	void testPutOverwrites()
+	{
+		map.put(5, 1);
+		map.put(5, 2);
+
+		assertEquals(2, map.get(5, -1), "put: Did not overwrite the value");
+		assertEquals(1, map.size(), "put: Did not return the expected size");
+	}
+
+	@Test
+	void testNegativeAndZeroKeys()
+	{
+		map.put(0, 10);
+		map.put(-7, 20);
+
+		assertEquals(10, map.get(0, -1), "get: Did not return the expected output");
+		assertEquals(20, map.get(-7, -1), "get: Did not return the expected output");
+	}
+
+	@Test
+	void testClear()
+	{
+		map.put(1, 1);
+		map.clear();
+
+		assertTrue(map.isEmpty(), "clear: Map was not emptied");
+		assertFalse(map.containsKey(1), "clear: Key was still present");
+	}
+
+	@Test
+	void testMatchesHashMapAfterRandomOperations()
+	{
+		Random rand = new Random(42);
+		Map<Integer, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 20000; i++)
+		{
+			int key = rand.nextInt(500) - 250;
+
+			if (rand.nextInt(3) == 0)
+			{
+				assertEquals(expected.remove(key) != null, map.remove(key), "remove: Did not return the expected output");
+			}
+			else
+			{
+				expected.put(key, i);
+				map.put(key, i);
+			}
+		}
+
+		assertEquals(expected.size(), map.size(), "size: Did not return the expected output");
+
+		for (int key = -250; key < 250; key++)
+		{
+			assertEquals(expected.getOrDefault(key, -1), map.get(key, -1), "get: Did not return the expected output");
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package project.model;
+
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+// Graphs and checks shared by the tests that compare a search against plain Dijkstra
+public final class TestGraphs
+{
+	private TestGraphs()
+	{
+	}
+
+	// nodes 0 to numOfNodes - 1 joined by random edges of weight 1 to 100; self-loops and parallel edges are kept
+	public static CsrGraph randomGraph(int numOfNodes, int numOfEdges, Random rand)
+	{
+		List<Node> nodes = new LinkedList<>();
+		List<Edge> edges = new LinkedList<>();
+
+		for (int i = 0; i < numOfNodes; i++)
+		{
+			nodes.add(new Node(i));
+		}
+
+		for (int i = 0; i < numOfEdges; i++)
+		{
+			Node node1 = nodes.get(rand.nextInt(numOfNodes));
+			Node node2 = nodes.get(rand.nextInt(numOfNodes));
+			edges.add(new Edge(node1, node2, rand.nextInt(100) + 1));
+		}
+
+		return CsrGraph.of(nodes, edges);
+	}
+
+	// total weight of a path given as node ids, taking the lightest arc between each pair
+	public static int pathLength(CsrGraph graph, int[] path)
+	{
+		int length = 0;
+
+		for (int i = 1; i < path.length; i++)
+		{
+			int from = graph.indexOf(path[i - 1]);
+			int to = graph.indexOf(path[i]);
+			int weight = Integer.MAX_VALUE;
+
+			for (int arc = graph.firstArc(from); arc < graph.endArc(from); arc++)
+			{
+				if (graph.target(arc) == to)
+				{
+					weight = Math.min(weight, graph.weight(arc));
+				}
+			}
+
+			length += weight;
+		}
+
+		return length;
+	}
+}
@@ -0,0 +1,114 @@
+package project.model.allpairs;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.model.CsrGraph;
+import project.model.TestGraphs;
+import project.model.dijkstra.CsrSearch;
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllPairsShortestPathsTest
+{
+	private static ExecutorService executor;
+
+	@BeforeAll
+	static void setUpExecutor()
+	{
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterAll
+	static void tearDownExecutor()
+	{
+		executor.shutdown();
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	private void assertMatchesDijkstra(CsrGraph graph, DistanceMatrix matrix)
+	{
+		CsrSearch search = new CsrSearch(graph);
+
+		for (int from = 0; from < graph.size(); from++)
+		{
+			assertArrayEquals(search.runWithHeap(from, -1).getLValues(), matrix.getRow(from),
+					"compute: Did not return the expected output");
+		}
+	}
+
+	@Test
+	void testFloydWarshall()
+	{
+		// 150 nodes do not divide into blocks of 32, so the last block is partial
+		CsrGraph graph = TestGraphs.randomGraph(150, 600, new Random(1));
+
+		assertMatchesDijkstra(graph, new FloydWarshall(executor, 32).compute(graph));
+	}
+
+	@Test
+	void testRepeatedDijkstra()
+	{
+		CsrGraph graph = TestGraphs.randomGraph(150, 600, new Random(2));
+
+		assertMatchesDijkstra(graph, new RepeatedDijkstra(executor, 4).compute(graph));
+	}
+
+	@Test
+	void testChooseBackend()
+	{
+		CsrGraph sparse = TestGraphs.randomGraph(100, 150, new Random(3));
+		CsrGraph dense = TestGraphs.randomGraph(40, 1000, new Random(4));
+
+		assertEquals(AllPairsShortestPaths.Backend.REPEATED_DIJKSTRA, AllPairsShortestPaths.chooseBackend(sparse),
+				"chooseBackend: Did not return the expected output");
+		assertEquals(AllPairsShortestPaths.Backend.FLOYD_WARSHALL, AllPairsShortestPaths.chooseBackend(dense),
+				"chooseBackend: Did not return the expected output");
+	}
+
+	@Test
+	void testExportAndLoad(@TempDir Path directory) throws IOException
+	{
+		CsrGraph graph = TestGraphs.randomGraph(80, 200, new Random(5));
+		DistanceMatrix matrix = new AllPairsShortestPaths(executor, 4).compute(graph);
+		Path path = directory.resolve("distances.bin");
+
+		matrix.export(path);
+		DistanceMatrix loaded = DistanceMatrix.load(path);
+
+		assertEquals(matrix.size(), loaded.size(), "load: Did not return the expected output");
+
+		for (int from = 0; from < matrix.size(); from++)
+		{
+			assertArrayEquals(matrix.getRow(from), loaded.getRow(from), "load: Did not return the expected output");
+		}
+
+		assertEquals(matrix.get(3, 7), loaded.getById(graph.idOf(3), graph.idOf(7)),
+				"getById: Did not return the expected output");
+	}
+
+	@Test
+	void testMatrixTooLargeForAnArray()
+	{
+		assertThrows(IllegalArgumentException.class, () -> DistanceMatrix.allocate(46341),
+				"allocate: Did not throw the expected exception");
+	}
+}
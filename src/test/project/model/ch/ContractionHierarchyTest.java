@@ -0,0 +1,156 @@
+package project.model.ch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.model.CsrGraph;
+import project.model.TestGraphs;
+import project.model.dijkstra.CsrSearch;
+import project.model.dijkstra.Edge;
+import project.model.dijkstra.Node;
+import project.model.dijkstra.ShortestPaths;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContractionHierarchyTest
+{
+	private Node nodeA;
+	private Node nodeB;
+	private Node nodeC;
+	private Node nodeD;
+	private Node nodeE;
+	private CsrGraph graph;
+
+	@BeforeEach
+	void setUp()
+	{
+		nodeA = new Node("A");
+		nodeB = new Node("B");
+		nodeC = new Node("C");
+		nodeD = new Node("D");
+		nodeE = new Node("E");
+
+		List<Node> nodes = new LinkedList<>(Arrays.asList(nodeC, nodeB, nodeA, nodeE, nodeD));
+
+		List<Edge> edges = new LinkedList<>(Arrays.asList(
+				new Edge(nodeA, nodeE, 2),
+				new Edge(nodeE, nodeC, 3),
+				new Edge(nodeE, nodeD, 7),
+				new Edge(nodeC, nodeD, 3),
+				new Edge(nodeB, nodeC, 4)
+		));
+
+		graph = CsrGraph.of(nodes, edges);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testRun()
+	{
+		ContractionHierarchyQuery query = new ContractionHierarchyQuery(new ContractionHierarchyBuilder(graph).build());
+
+		assertEquals(8, query.run(nodeA.getId(), nodeD.getId()), "run: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeA.getId(), nodeE.getId(), nodeC.getId(), nodeD.getId()}, query.getPath(),
+				"getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunSameNode()
+	{
+		ContractionHierarchyQuery query = new ContractionHierarchyQuery(new ContractionHierarchyBuilder(graph).build());
+
+		assertEquals(0, query.run(nodeB.getId(), nodeB.getId()), "run: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeB.getId()}, query.getPath(), "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunUnreachable()
+	{
+		Node nodeF = new Node("F");
+		CsrGraph disconnected = CsrGraph.of(List.of(nodeA, nodeF), List.of());
+		ContractionHierarchyQuery query =
+				new ContractionHierarchyQuery(new ContractionHierarchyBuilder(disconnected).build());
+
+		assertEquals(-1, query.run(nodeA.getId(), nodeF.getId()), "run: Did not return the expected output");
+		assertEquals(0, query.getPath().length, "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunInvalidNode()
+	{
+		ContractionHierarchyQuery query = new ContractionHierarchyQuery(new ContractionHierarchyBuilder(graph).build());
+
+		assertThrows(IllegalArgumentException.class, () -> query.run(nodeA.getId(), 42),
+				"run: Did not throw the expected exception");
+	}
+
+	@Test
+	void testSaveAndLoad(@TempDir Path directory) throws IOException
+	{
+		ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph).build();
+		Path path = directory.resolve("ch_database.bin");
+
+		hierarchy.save(path);
+		ContractionHierarchy loaded = ContractionHierarchy.load(path);
+
+		assertEquals(graph.fingerprint(), loaded.getFingerprint(), "load: Did not return the expected output");
+		assertEquals(hierarchy.arcCount(), loaded.arcCount(), "load: Did not return the expected output");
+		assertEquals(8, new ContractionHierarchyQuery(loaded).run(nodeA.getId(), nodeD.getId()),
+				"run: Did not return the expected output");
+	}
+
+	@Test
+	void testLoadInvalidFile(@TempDir Path directory) throws IOException
+	{
+		Path path = directory.resolve("ch_database.bin");
+		Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+		assertThrows(IOException.class, () -> ContractionHierarchy.load(path),
+				"load: Did not throw the expected exception");
+	}
+
+	@Test
+	void testRunMatchesDijkstraOnRandomGraph()
+	{
+		Random rand = new Random(5);
+		CsrGraph randomGraph = TestGraphs.randomGraph(300, 900, rand);
+		ContractionHierarchyQuery query =
+				new ContractionHierarchyQuery(new ContractionHierarchyBuilder(randomGraph).build());
+		CsrSearch dijkstra = new CsrSearch(randomGraph);
+
+		for (int i = 0; i < 100; i++)
+		{
+			int source = rand.nextInt(300);
+			int target = rand.nextInt(300);
+			ShortestPaths expected = dijkstra.runWithHeap(source, -1);
+
+			int actual = query.run(randomGraph.idOf(source), randomGraph.idOf(target));
+			assertEquals(expected.getLValueAt(target), actual, "run: Did not return the expected output");
+
+			if (actual != -1)
+			{
+				int[] path = query.getPath();
+				assertEquals(randomGraph.idOf(source), path[0], "getPath: Did not start at the source");
+				assertEquals(randomGraph.idOf(target), path[path.length - 1], "getPath: Did not end at the target");
+				assertEquals(actual, TestGraphs.pathLength(randomGraph, path), "getPath: Path is not a shortest path");
+			}
+		}
+	}
+}
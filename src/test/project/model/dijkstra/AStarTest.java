@@ -0,0 +1,131 @@
+package project.model.dijkstra;
+
+import javafx.scene.shape.Circle;
+import javafx.scene.text.Text;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import project.model.CsrGraph;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AStarTest
+{
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testRun()
+	{
+		Node nodeA = createNode("A", 0, 0);
+		Node nodeB = createNode("B", 100, 0);
+		Node nodeC = createNode("C", 200, 0);
+		Node nodeD = createNode("D", 100, 100);
+
+		CsrGraph graph = CsrGraph.of(List.of(nodeA, nodeB, nodeC, nodeD), List.of(
+				new Edge(nodeA, nodeB, 10),
+				new Edge(nodeB, nodeC, 10),
+				new Edge(nodeA, nodeD, 15),
+				new Edge(nodeD, nodeC, 15)
+		));
+		AStar search = new AStar(graph, EuclideanHeuristic.fitted(graph));
+
+		assertEquals(20, search.run(nodeA.getId(), nodeC.getId()), "run: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeA.getId(), nodeB.getId(), nodeC.getId()}, search.getPath(),
+				"getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunInvalidNode()
+	{
+		Node nodeA = createNode("A", 0, 0);
+		AStar search = new AStar(CsrGraph.of(List.of(nodeA), List.of()), Heuristic.NONE);
+
+		assertThrows(IllegalArgumentException.class, () -> search.run(nodeA.getId(), 42),
+				"run: Did not throw the expected exception");
+	}
+
+	@Test
+	void testFitted()
+	{
+		Node nodeA = createNode("A", 0, 0);
+		Node nodeB = createNode("B", 30, 40);
+		Node nodeC = createNode("C", 30, 0);
+
+		CsrGraph graph = CsrGraph.of(List.of(nodeA, nodeB, nodeC), List.of(
+				new Edge(nodeA, nodeB, 25),
+				new Edge(nodeA, nodeC, 60)
+		));
+
+		assertEquals(0.5, EuclideanHeuristic.fitted(graph).getMinWeightPerPixel(), 1e-9,
+				"fitted: Did not return the expected output");
+	}
+
+	@Test
+	void testRunMatchesDijkstraOnGeometricGraph()
+	{
+		Random rand = new Random(11);
+		List<Node> nodes = new LinkedList<>();
+		List<Edge> edges = new LinkedList<>();
+
+		for (int i = 0; i < 400; i++)
+		{
+			nodes.add(createNode(String.valueOf(i), rand.nextInt(1000), rand.nextInt(1000)));
+		}
+
+		// connects each node to a few of its closest predecessors, weighted by length plus some noise
+		for (int i = 1; i < nodes.size(); i++)
+		{
+			Node node = nodes.get(i);
+			nodes.subList(0, i).stream()
+					.sorted((n1, n2) -> Double.compare(length(node, n1), length(node, n2)))
+					.limit(3)
+					.forEach(other -> edges.add(new Edge(node, other, (int) length(node, other) + rand.nextInt(20) + 1)));
+		}
+
+		CsrGraph graph = CsrGraph.of(nodes, edges);
+		AStar aStar = new AStar(graph, EuclideanHeuristic.fitted(graph));
+		AStar dijkstra = new AStar(graph, Heuristic.NONE);
+		CsrSearch csrSearch = new CsrSearch(graph);
+		int aStarSettled = 0;
+		int dijkstraSettled = 0;
+
+		for (int i = 0; i < 50; i++)
+		{
+			int source = rand.nextInt(nodes.size());
+			int target = rand.nextInt(nodes.size());
+			ShortestPaths expected = csrSearch.runWithHeap(source, -1);
+
+			assertEquals(expected.getLValueAt(target), aStar.run(graph.idOf(source), graph.idOf(target)),
+					"run: Did not return the expected output");
+			assertEquals(expected.getLValueAt(target), dijkstra.run(graph.idOf(source), graph.idOf(target)),
+					"run: Did not return the expected output");
+
+			aStarSettled += aStar.getSettledCount();
+			dijkstraSettled += dijkstra.getSettledCount();
+		}
+
+		assertTrue(aStarSettled < dijkstraSettled, "getSettledCount: Heuristic did not reduce the settled nodes");
+	}
+
+	private Node createNode(String name, double x, double y)
+	{
+		return new Node(new Text(name), new Circle(x, y, 10));
+	}
+
+	private double length(Node node1, Node node2)
+	{
+		return Math.hypot(node1.getShape().getCenterX() - node2.getShape().getCenterX(),
+				node1.getShape().getCenterY() - node2.getShape().getCenterY());
+	}
+}
@@ -0,0 +1,123 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.model.CsrGraph;
+import project.model.TestGraphs;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BidirectionalDijkstraTest
+{
+	private Node nodeA;
+	private Node nodeB;
+	private Node nodeC;
+	private Node nodeD;
+	private Node nodeE;
+	private CsrGraph graph;
+
+	@BeforeEach
+	void setUp()
+	{
+		nodeA = new Node("A");
+		nodeB = new Node("B");
+		nodeC = new Node("C");
+		nodeD = new Node("D");
+		nodeE = new Node("E");
+
+		List<Node> nodes = new LinkedList<>(Arrays.asList(nodeC, nodeB, nodeA, nodeE, nodeD));
+
+		List<Edge> edges = new LinkedList<>(Arrays.asList(
+				new Edge(nodeA, nodeE, 2),
+				new Edge(nodeE, nodeC, 3),
+				new Edge(nodeE, nodeD, 7),
+				new Edge(nodeC, nodeD, 3),
+				new Edge(nodeB, nodeC, 4)
+		));
+
+		graph = CsrGraph.of(nodes, edges);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testRun()
+	{
+		BidirectionalDijkstra search = new BidirectionalDijkstra(graph);
+
+		assertEquals(8, search.run(nodeA.getId(), nodeD.getId()), "run: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeA.getId(), nodeE.getId(), nodeC.getId(), nodeD.getId()}, search.getPath(),
+				"getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunSameNode()
+	{
+		BidirectionalDijkstra search = new BidirectionalDijkstra(graph);
+
+		assertEquals(0, search.run(nodeB.getId(), nodeB.getId()), "run: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeB.getId()}, search.getPath(), "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunUnreachable()
+	{
+		Node nodeF = new Node("F");
+		CsrGraph disconnected = CsrGraph.of(List.of(nodeA, nodeF), List.of());
+		BidirectionalDijkstra search = new BidirectionalDijkstra(disconnected);
+
+		assertEquals(-1, search.run(nodeA.getId(), nodeF.getId()), "run: Did not return the expected output");
+		assertEquals(0, search.getPath().length, "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunInvalidNode()
+	{
+		BidirectionalDijkstra search = new BidirectionalDijkstra(graph);
+
+		assertThrows(IllegalArgumentException.class, () -> search.run(nodeA.getId(), 42),
+				"run: Did not throw the expected exception");
+	}
+
+	@Test
+	void testRunMatchesDijkstraOnRandomGraph()
+	{
+		Random rand = new Random(7);
+		CsrGraph randomGraph = TestGraphs.randomGraph(200, 600, rand);
+		BidirectionalDijkstra search = new BidirectionalDijkstra(randomGraph);
+		CsrSearch dijkstra = new CsrSearch(randomGraph);
+
+		for (int i = 0; i < 50; i++)
+		{
+			int source = rand.nextInt(200);
+			int target = rand.nextInt(200);
+			ShortestPaths expected = dijkstra.runWithHeap(source, -1);
+
+			int actual = search.run(randomGraph.idOf(source), randomGraph.idOf(target));
+			assertEquals(expected.getLValueAt(target), actual, "run: Did not return the expected output");
+
+			if (actual != -1)
+			{
+				int[] path = search.getPath();
+				assertEquals(randomGraph.idOf(source), path[0], "getPath: Did not start at the source");
+				assertEquals(randomGraph.idOf(target), path[path.length - 1], "getPath: Did not end at the target");
+				assertEquals(actual, TestGraphs.pathLength(randomGraph, path), "getPath: Path is not a shortest path");
+				assertTrue(search.getSettledCount() > 0, "getSettledCount: Did not return the expected output");
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import project.model.TestGraphs;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the whole DijkstraTest suite against the bucket engine
+class BucketDijkstraTest extends DijkstraTest
+{
+	@Override
+	Dijkstra createDijkstra(List<Node> nodes, List<Edge> edges)
+	{
+		return new Dijkstra(nodes, edges, Engine.BUCKET);
+	}
+
+	@AfterEach
+	void resetIds()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	// D and E are both at 3 from C; the bucket queue visits them in the order they were reached, the other engines
+	// smallest index first
+	@Override
+	@Test
+	void testRunNodeWithThreeEdge()
+	{
+		Map<String[], String[]> expected = Map.of(
+				new String[]{"Tv"}, new String[]{"A", "B", "C", "D", "E"},
+				new String[]{"3"}, new String[]{"-1", "4", "0", "3", "3"},
+				new String[]{"3", "5"}, new String[]{"5", "4", "0", "3", "3"},
+				new String[]{"3", "4", "5"}, new String[]{"5", "4", "0", "3", "3"},
+				new String[]{"2", "3", "4", "5"}, new String[]{"5", "4", "0", "3", "3"},
+				new String[]{"1", "2", "3", "4", "5"}, new String[]{"5", "4", "0", "3", "3"}
+		);
+
+		Map<String[], String[]> actual = createDijkstra(normalNodes, normalEdges).run(threeEdgeNode);
+
+		assertTrue(deepEquals(expected, actual), "run: Did not return the expected output");
+	}
+
+	@Test
+	void testRunMatchesHeapEngineOnRandomGraph()
+	{
+		Random rand = new Random(17);
+		CsrSearch search = new CsrSearch(TestGraphs.randomGraph(500, 2000, rand));
+
+		for (int i = 0; i < 10; i++)
+		{
+			int source = rand.nextInt(500);
+
+			assertArrayEquals(search.runWithHeap(source, -1).getLValues(), search.runWithBuckets(source, -1).getLValues(),
+					"runWithBuckets: Did not return the expected output");
+		}
+	}
+
+	@Test
+	void testMinQueueFallsBackToHeap()
+	{
+		assertTrue(MinQueue.of(Engine.BUCKET, 10, 100) instanceof BucketQueue,
+				"of: Did not return the expected output");
+		assertTrue(MinQueue.of(Engine.BUCKET, 10, BucketQueue.MAX_WEIGHT + 1) instanceof IndexedMinHeap,
+				"of: Did not return the expected output");
+	}
+
+	@Test
+	void testBucketQueuePollsInKeyOrder()
+	{
+		BucketQueue queue = new BucketQueue(5, 10);
+		queue.offer(0, 7);
+		queue.offer(1, 3);
+		queue.offer(2, 10);
+		queue.offer(2, 1);
+
+		assertEquals(2, queue.poll(), "poll: Did not return the expected output");
+		assertEquals(1, queue.poll(), "poll: Did not return the expected output");
+
+		queue.offer(3, 12);
+
+		assertEquals(0, queue.poll(), "poll: Did not return the expected output");
+		assertEquals(3, queue.poll(), "poll: Did not return the expected output");
+		assertTrue(queue.isEmpty(), "isEmpty: Did not return the expected output");
+	}
+
+	@Test
+	void testBucketQueuePollsEqualKeysInConstantTime()
+	{
+		BucketQueue queue = new BucketQueue(10000, 1);
+		for (int i = 9999; i >= 0; i--)
+		{
+			queue.offer(i, 1);
+		}
+
+		queue.resetComparisons();
+		assertEquals(9999, queue.poll(), "poll: Did not poll equal keys in the order they were offered");
+		for (int i = 1; i < 10000; i++)
+		{
+			queue.poll();
+		}
+
+		assertTrue(queue.getComparisons() <= 10001, "poll: Walked the bucket to find the next index");
+	}
+
+	@Test
+	void testBucketQueueKeyOutOfRange()
+	{
+		BucketQueue queue = new BucketQueue(5, 10);
+
+		assertThrows(IllegalArgumentException.class, () -> queue.offer(0, 11),
+				"offer: Did not throw the expected exception");
+	}
+}
@@ -0,0 +1,98 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import project.model.CsrGraph;
+import project.model.TestGraphs;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeltaSteppingTest
+{
+	private static ForkJoinPool pool;
+
+	@BeforeAll
+	static void setUpPool()
+	{
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	static void tearDownPool()
+	{
+		pool.shutdown();
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testRun()
+	{
+		Node nodeA = new Node("A");
+		Node nodeB = new Node("B");
+		Node nodeC = new Node("C");
+		Node nodeD = new Node("D");
+		Node nodeE = new Node("E");
+
+		List<Node> nodes = new LinkedList<>(Arrays.asList(nodeC, nodeB, nodeA, nodeE, nodeD));
+
+		List<Edge> edges = new LinkedList<>(Arrays.asList(
+				new Edge(nodeA, nodeE, 2),
+				new Edge(nodeE, nodeC, 3),
+				new Edge(nodeE, nodeD, 7),
+				new Edge(nodeC, nodeD, 3),
+				new Edge(nodeB, nodeC, 4)
+		));
+
+		ShortestPaths result = new DeltaStepping(CsrGraph.of(nodes, edges), 3, pool).run(nodeA.getId());
+
+		assertArrayEquals(new int[]{5, 9, 0, 2, 8}, result.getLValues(), "run: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeA.getId(), nodeE.getId(), nodeC.getId(), nodeD.getId()},
+				result.getPath(nodeD.getId()), "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testRunInvalidNode()
+	{
+		Node nodeA = new Node("A");
+		DeltaStepping deltaStepping = new DeltaStepping(CsrGraph.of(List.of(nodeA), List.of()), pool);
+
+		assertThrows(IllegalArgumentException.class, () -> deltaStepping.run(42),
+				"run: Did not throw the expected exception");
+	}
+
+	@Test
+	void testRunMatchesDijkstraOnRandomGraph()
+	{
+		Random rand = new Random(13);
+		CsrGraph graph = TestGraphs.randomGraph(2000, 8000, rand);
+		CsrSearch dijkstra = new CsrSearch(graph);
+
+		for (int delta : new int[]{1, 10, 50, 1000})
+		{
+			DeltaStepping deltaStepping = new DeltaStepping(graph, delta, pool);
+			int source = rand.nextInt(2000);
+			ShortestPaths expected = dijkstra.runWithHeap(source, -1);
+			ShortestPaths actual = deltaStepping.run(graph.idOf(source));
+
+			assertArrayEquals(expected.getLValues(), actual.getLValues(), "run: Did not return the expected output");
+			assertEquals(expected.getSettledCount(), actual.getSettledCount(),
+					"getSettledCount: Did not return the expected output");
+		}
+	}
+}
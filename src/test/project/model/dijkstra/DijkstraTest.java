@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -18,11 +20,11 @@ class DijkstraTest
 {
 	private Dijkstra d;
 	private Node oneEdgeNode;
-	private Node threeEdgeNode;
-	private LinkedList<Node> normalNodes;
-	private LinkedList<Edge> normalEdges;
+	Node threeEdgeNode;
+	LinkedList<Node> normalNodes;
+	LinkedList<Edge> normalEdges;
 
-	private boolean deepEquals(Map<String[], String[]> expectedSteps, Map<String[], String[]> actualSteps)
+	boolean deepEquals(Map<String[], String[]> expectedSteps, Map<String[], String[]> actualSteps)
 	{
 		if (expectedSteps == actualSteps)
 		{
@@ -57,6 +59,11 @@ class DijkstraTest
 		return true;
 	}
 
+	Dijkstra createDijkstra(List<Node> nodes, List<Edge> edges)
+	{
+		return new Dijkstra(nodes, edges);
+	}
+
 	@BeforeEach
 	void setUp()
 	{
@@ -102,7 +109,7 @@ class DijkstraTest
 		LinkedList<Node> nodes = new LinkedList<>(Arrays.asList(nodeC, nodeB, nodeA, nodeE, nodeD));
 		Collections.sort(nodes);
 
-		d = new Dijkstra(normalNodes, normalEdges);
+		d = createDijkstra(normalNodes, normalEdges);
 		d.updateNodes(nodes);
 
 		assertEquals(nodes, new LinkedList<>(d.getUnvisitedNodes().getNodes()),
@@ -121,7 +128,7 @@ class DijkstraTest
 		LinkedList<Node> nodes = new LinkedList<>(Arrays.asList(nodeH, nodeG, nodeF, nodeJ, nodeI));
 		Collections.sort(nodes);
 
-		d = new Dijkstra(normalNodes, normalEdges);
+		d = createDijkstra(normalNodes, normalEdges);
 		d.updateNodes(nodes);
 
 		assertEquals(nodes, new LinkedList<>(d.getUnvisitedNodes().getNodes()),
@@ -140,7 +147,7 @@ class DijkstraTest
 				new String[]{"1", "2", "3", "4", "5"}, new String[]{"0", "9", "5", "8", "2"}
 		);
 
-		d = new Dijkstra(normalNodes, normalEdges);
+		d = createDijkstra(normalNodes, normalEdges);
 
 		Map<String[], String[]> actual = d.run(oneEdgeNode);
 
@@ -160,7 +167,7 @@ class DijkstraTest
 				new String[]{"1", "2", "3", "4", "5"}, new String[]{"5", "4", "0", "3", "3"}
 		);
 
-		d = new Dijkstra(normalNodes, normalEdges);
+		d = createDijkstra(normalNodes, normalEdges);
 
 		Map<String[], String[]> actual = d.run(threeEdgeNode);
 
@@ -171,7 +178,7 @@ class DijkstraTest
 	@Test
 	void testRunInvalidNode()
 	{
-		d = new Dijkstra(normalNodes, normalEdges);
+		d = createDijkstra(normalNodes, normalEdges);
 
 		Node invalidNode = new Node("F");
 
@@ -182,7 +189,7 @@ class DijkstraTest
 	@Test
 	void testRunNull()
 	{
-		d = new Dijkstra(normalNodes, normalEdges);
+		d = createDijkstra(normalNodes, normalEdges);
 
 		assertThrows(IllegalArgumentException.class, () -> d.run(null),
 				"run: Did not throw the expected exception");
@@ -221,7 +228,7 @@ class DijkstraTest
 				new String[]{"6", "7", "8", "9", "10"}, new String[]{"0", "2", "3", "4", "2"}
 		);
 
-		d = new Dijkstra(nodes, edges);
+		d = createDijkstra(nodes, edges);
 
 		Map<String[], String[]> actual = d.run(nodeA);
 
@@ -256,11 +263,160 @@ class DijkstraTest
 				new String[]{"6", "7", "8", "9", "10"}, new String[]{"0", "2", "5", "9", "14"}
 		);
 
-		d = new Dijkstra(nodes, edges);
+		d = createDijkstra(nodes, edges);
 
 		Map<String[], String[]> actual = d.run(nodeA);
 
 		assertTrue(deepEquals(expected, actual),
 				"getComparisons: Did not return the expected output");
 	}
+
+	@Test
+	void testParallelEdgesIndexLightest()
+	{
+		Node nodeX = new Node("X");
+		Node nodeY = new Node("Y");
+		Edge heavy = new Edge(nodeX, nodeY, 5);
+		Edge light = new Edge(nodeX, nodeY, 2);
+		Dijkstra graph = createDijkstra(new LinkedList<>(List.of(nodeX, nodeY)), new LinkedList<>(List.of(heavy, light)));
+
+		assertSame(light, graph.findEdge(nodeX, nodeY), "addToIndex: Did not keep the lightest edge");
+		assertEquals(2, graph.getNeighbours(nodeY).iterator().next().getWeight(), "addToIndex: Did not keep the lightest edge");
+
+		light.setWeight("9");
+		graph.updateIndex(light);
+
+		assertSame(heavy, graph.findEdge(nodeX, nodeY), "updateIndex: Did not pick the now lightest edge");
+		assertEquals(5, graph.getNeighbours(nodeX).iterator().next().getWeight(), "updateIndex: Did not pick the now lightest edge");
+
+		graph.removeFromIndex(heavy);
+
+		assertSame(light, graph.findEdge(nodeX, nodeY), "removeFromIndex: Dropped the pair while another edge joins it");
+		assertEquals(9, graph.getNeighbours(nodeX).iterator().next().getWeight(), "removeFromIndex: Did not return the expected output");
+
+		graph.removeFromIndex(light);
+
+		assertNull(graph.findEdge(nodeX, nodeY), "removeFromIndex: Did not drop the pair");
+	}
+
+	@Test
+	void testRunOnSnapshot()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+
+		ShortestPaths actual = d.run(d.snapshot(), oneEdgeNode.getId());
+
+		assertEquals(0, actual.getLValue(oneEdgeNode.getId()), "run: Did not return the expected output");
+		assertEquals(9, actual.getLValue(2), "run: Did not return the expected output");
+		assertEquals(5, actual.getLValue(threeEdgeNode.getId()), "run: Did not return the expected output");
+		assertEquals(8, actual.getLValue(4), "run: Did not return the expected output");
+		assertEquals(2, actual.getLValue(5), "run: Did not return the expected output");
+	}
+
+	@Test
+	void testRunOnSnapshotInvalidNode()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+
+		assertThrows(IllegalArgumentException.class, () -> d.run(d.snapshot(), 42),
+				"run: Did not throw the expected exception");
+	}
+
+	@Test
+	void testSolveNodeWithOneEdge()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+
+		ShortestPaths actual = d.solve(oneEdgeNode);
+
+		assertEquals(9, actual.getLValue(2), "solve: Did not return the expected output");
+		assertEquals(8, actual.getLValue(4), "solve: Did not return the expected output");
+		assertEquals(-1, actual.getPredecessorId(oneEdgeNode.getId()), "solve: Did not return the expected output");
+		assertEquals(3, actual.getPredecessorId(2), "solve: Did not return the expected output");
+		assertEquals(3, actual.getPredecessorId(4), "solve: Did not return the expected output");
+		assertEquals(5, actual.getPredecessorId(threeEdgeNode.getId()), "solve: Did not return the expected output");
+	}
+
+	@Test
+	void testRecordMatchesRun()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+
+		Map<String[], String[]> expected = d.run(threeEdgeNode);
+		StepLog actual = d.record(threeEdgeNode);
+
+		assertEquals(expected.size(), actual.size(), "record: Did not return the expected output");
+		assertEquals(threeEdgeNode.getId(), actual.getVisitedNodeId(0), "record: Did not return the expected output");
+		assertTrue(deepEquals(expected, actual.toStepMap()), "record: Did not return the expected output");
+	}
+
+	@Test
+	void testGetPath()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+		d.run(oneEdgeNode);
+
+		List<Node> expected = Arrays.asList(oneEdgeNode, normalNodes.get(3), threeEdgeNode, normalNodes.get(1));
+		List<Node> actual = d.getPath(normalNodes.get(1));
+
+		assertEquals(expected, actual, "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testGetPathBeforeRun()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+
+		assertThrows(IllegalStateException.class, () -> d.getPath(oneEdgeNode),
+				"getPath: Did not throw the expected exception");
+	}
+
+	@Test
+	void testGetShortestPathTree()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+		d.solve(threeEdgeNode);
+
+		Map<Node, Node> actual = d.getShortestPathTree();
+
+		assertEquals(4, actual.size(), "getShortestPathTree: Did not return the expected output");
+		assertEquals(normalNodes.get(3), actual.get(oneEdgeNode), "getShortestPathTree: Did not return the expected output");
+		assertEquals(threeEdgeNode, actual.get(normalNodes.get(1)), "getShortestPathTree: Did not return the expected output");
+	}
+
+	@Test
+	void testRunToTarget()
+	{
+		Node nodeE = normalNodes.get(3);
+		d = createDijkstra(normalNodes, normalEdges);
+
+		ShortestPaths actual = d.run(oneEdgeNode, nodeE);
+
+		assertEquals(2, actual.getLValue(nodeE.getId()), "run: Did not return the expected output");
+		assertEquals(2, actual.getSettledCount(), "run: Did not stop at the target");
+		assertEquals(2, d.getSettledCount(), "getSettledCount: Did not return the expected output");
+	}
+
+	@Test
+	void testRunToTargetOnSnapshot()
+	{
+		Node nodeB = normalNodes.get(1);
+		d = createDijkstra(normalNodes, normalEdges);
+
+		ShortestPaths actual = d.run(d.snapshot(), oneEdgeNode.getId(), nodeB.getId());
+
+		assertEquals(9, actual.getLValue(nodeB.getId()), "run: Did not return the expected output");
+		assertEquals(5, actual.getSettledCount(), "run: Did not return the expected output");
+	}
+
+	@Test
+	void testRunToStartingNode()
+	{
+		d = createDijkstra(normalNodes, normalEdges);
+
+		ShortestPaths actual = d.run(threeEdgeNode, threeEdgeNode);
+
+		assertEquals(0, actual.getLValue(threeEdgeNode.getId()), "run: Did not return the expected output");
+		assertEquals(1, actual.getSettledCount(), "run: Did not stop at the target");
+	}
 }
@@ -0,0 +1,85 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs the whole DijkstraTest suite against the heap engine
+class HeapDijkstraTest extends DijkstraTest
+{
+	@Override
+	Dijkstra createDijkstra(List<Node> nodes, List<Edge> edges)
+	{
+		return new Dijkstra(nodes, edges, Engine.HEAP);
+	}
+
+	@AfterEach
+	void resetIds()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testRunMatchesLinearEngineOnSparseGraph() throws NoSuchAlgorithmException
+	{
+		Random rand = SecureRandom.getInstanceStrong();
+		List<Node> nodes = new LinkedList<>();
+		List<Edge> edges = new LinkedList<>();
+
+		for (int i = 0; i < 60; i++)
+		{
+			nodes.add(new Node(i));
+		}
+
+		// a random tree plus one extra edge per node, without parallel edges
+		for (int i = 1; i < nodes.size(); i++)
+		{
+			int parent = rand.nextInt(i);
+			edges.add(new Edge(nodes.get(parent), nodes.get(i), rand.nextInt(100) + 1));
+
+			int other = rand.nextInt(i);
+			if (other != parent)
+			{
+				edges.add(new Edge(nodes.get(other), nodes.get(i), rand.nextInt(100) + 1));
+			}
+		}
+
+		Dijkstra linear = new Dijkstra(nodes, edges);
+		Dijkstra heap = createDijkstra(nodes, edges);
+
+		List<String[]> expected = new ArrayList<>(linear.run(nodes.get(0)).values());
+		List<String[]> actual = new ArrayList<>(heap.run(nodes.get(0)).values());
+
+		assertEquals(expected.size(), actual.size(), "run: Did not record the same number of steps");
+		assertArrayEquals(expected.get(expected.size() - 1), actual.get(actual.size() - 1),
+				"run: Did not return the same final L values");
+	}
+
+	@Test
+	void testGetComparisonsCountsHeapWork()
+	{
+		Node nodeA = new Node("A");
+		Node nodeB = new Node("B");
+
+		List<Node> nodes = new LinkedList<>(List.of(nodeA, nodeB));
+		List<Edge> edges = new LinkedList<>(List.of(new Edge(nodeA, nodeB, 3)));
+
+		Dijkstra d = createDijkstra(nodes, edges);
+		Map<String[], String[]> steps = d.run(nodeA);
+
+		// start (1), A-B relaxed and lowered (3), B-A relaxed (1), no heap comparisons with a single entry
+		assertEquals(5, d.getComparisons(), "getComparisons: Did not return the expected output");
+		assertEquals(3, steps.size(), "run: Did not return the expected output");
+	}
+}
@@ -0,0 +1,213 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalShortestPathsTest
+{
+	private Node nodeA;
+	private Node nodeB;
+	private Node nodeC;
+	private Node nodeD;
+	private Node nodeE;
+	private Edge edgeEC;
+	private Edge edgeCD;
+	private LinkedList<Node> nodes;
+	private LinkedList<Edge> edges;
+	private Dijkstra graph;
+
+	@BeforeEach
+	void setUp()
+	{
+		nodeA = new Node("A");
+		nodeB = new Node("B");
+		nodeC = new Node("C");
+		nodeD = new Node("D");
+		nodeE = new Node("E");
+
+		nodes = new LinkedList<>(Arrays.asList(nodeC, nodeB, nodeA, nodeE, nodeD));
+
+		edgeEC = new Edge(nodeE, nodeC, 3);
+		edgeCD = new Edge(nodeC, nodeD, 3);
+		edges = new LinkedList<>(Arrays.asList(
+				new Edge(nodeA, nodeE, 2),
+				edgeEC,
+				new Edge(nodeE, nodeD, 7),
+				edgeCD,
+				new Edge(nodeB, nodeC, 4)
+		));
+
+		graph = new Dijkstra(nodes, edges);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testInitialValues()
+	{
+		IncrementalShortestPaths paths = new IncrementalShortestPaths(graph, nodeA);
+
+		assertEquals(8, paths.getLValue(nodeD.getId()), "getLValue: Did not return the expected output");
+		assertArrayEquals(new int[]{nodeA.getId(), nodeE.getId(), nodeC.getId(), nodeB.getId()},
+				paths.getPath(nodeB.getId()), "getPath: Did not return the expected output");
+	}
+
+	@Test
+	void testEdgeWeightIncreased()
+	{
+		IncrementalShortestPaths paths = new IncrementalShortestPaths(graph, nodeA);
+
+		edgeCD.setWeight("10");
+		graph.updateIndex(edgeCD);
+		paths.edgeWeightChanged(edgeCD, 3);
+
+		assertEquals(9, paths.getLValue(nodeD.getId()), "getLValue: Did not return the expected output");
+		assertEquals(nodeE.getId(), paths.getPredecessorId(nodeD.getId()),
+				"getPredecessorId: Did not return the expected output");
+	}
+
+	@Test
+	void testEdgeWeightDecreased()
+	{
+		IncrementalShortestPaths paths = new IncrementalShortestPaths(graph, nodeA);
+
+		edgeEC.setWeight("1");
+		graph.updateIndex(edgeEC);
+		paths.edgeWeightChanged(edgeEC, 3);
+
+		assertEquals(3, paths.getLValue(nodeC.getId()), "getLValue: Did not return the expected output");
+		assertEquals(7, paths.getLValue(nodeB.getId()), "getLValue: Did not return the expected output");
+		assertEquals(6, paths.getLValue(nodeD.getId()), "getLValue: Did not return the expected output");
+	}
+
+	@Test
+	void testEdgeRemovedDisconnects()
+	{
+		IncrementalShortestPaths paths = new IncrementalShortestPaths(graph, nodeA);
+		Edge edgeBC = edges.getLast();
+
+		edges.remove(edgeBC);
+		graph.removeFromIndex(edgeBC);
+		paths.edgeRemoved(edgeBC);
+
+		assertEquals(-1, paths.getLValue(nodeB.getId()), "getLValue: Did not return the expected output");
+		assertEquals(0, paths.getPath(nodeB.getId()).length, "getPath: Did not return the expected output");
+		assertEquals(1, paths.getLastUpdateCost(), "getLastUpdateCost: Did not return the expected output");
+	}
+
+	@Test
+	void testNodeRemoved()
+	{
+		IncrementalShortestPaths paths = new IncrementalShortestPaths(graph, nodeA);
+
+		paths.nodeRemoved(nodeC);
+		nodes.remove(nodeC);
+		edges.removeIf(edge -> edge.getNode1() == nodeC || edge.getNode2() == nodeC);
+		graph.removeFromIndex(nodeC);
+
+		assertEquals(-1, paths.getLValue(nodeC.getId()), "getLValue: Did not return the expected output");
+		assertEquals(-1, paths.getLValue(nodeB.getId()), "getLValue: Did not return the expected output");
+		assertEquals(9, paths.getLValue(nodeD.getId()), "getLValue: Did not return the expected output");
+	}
+
+	@Test
+	void testRandomEditsMatchFullRecomputation()
+	{
+		Random rand = new Random(31);
+		List<Node> randomNodes = new LinkedList<>();
+		List<Edge> randomEdges = new LinkedList<>();
+
+		for (int i = 0; i < 200; i++)
+		{
+			randomNodes.add(new Node(i));
+		}
+
+		// a random tree plus extra edges, without parallel edges
+		for (int i = 1; i < 200; i++)
+		{
+			randomEdges.add(new Edge(randomNodes.get(rand.nextInt(i)), randomNodes.get(i), rand.nextInt(50) + 1));
+		}
+
+		Dijkstra randomGraph = new Dijkstra(randomNodes, randomEdges);
+
+		for (int i = 0; i < 300; i++)
+		{
+			Node node1 = randomNodes.get(rand.nextInt(200));
+			Node node2 = randomNodes.get(rand.nextInt(200));
+
+			if (node1 != node2 && randomGraph.findEdge(node1, node2) == null)
+			{
+				Edge edge = new Edge(node1, node2, rand.nextInt(50) + 1);
+				randomEdges.add(edge);
+				randomGraph.addToIndex(edge);
+			}
+		}
+
+		Node source = randomNodes.get(0);
+		IncrementalShortestPaths paths = new IncrementalShortestPaths(randomGraph, source);
+
+		for (int i = 0; i < 200; i++)
+		{
+			Edge edge = randomEdges.get(rand.nextInt(randomEdges.size()));
+
+			if (i % 5 == 0)
+			{
+				randomEdges.remove(edge);
+				randomGraph.removeFromIndex(edge);
+				paths.edgeRemoved(edge);
+			}
+			else
+			{
+				int oldWeight = edge.getWeight();
+				edge.setWeight(String.valueOf(rand.nextInt(50) + 1));
+				randomGraph.updateIndex(edge);
+				paths.edgeWeightChanged(edge, oldWeight);
+			}
+
+			CsrGraph snapshot = CsrGraph.of(randomNodes, randomEdges);
+			ShortestPaths expected = new CsrSearch(snapshot).runWithHeap(snapshot.indexOf(source.getId()), -1);
+
+			for (Node node : randomNodes)
+			{
+				assertEquals(expected.getLValue(node.getId()), paths.getLValue(node.getId()),
+						"getLValue: Did not return the expected output");
+			}
+
+			assertTrue(paths.getLastUpdateCost() <= randomNodes.size() * 2,
+					"getLastUpdateCost: Did not return the expected output");
+		}
+
+		List<Integer> reachable = new ArrayList<>();
+		for (Node node : randomNodes)
+		{
+			if (paths.getLValue(node.getId()) != -1)
+			{
+				reachable.add(node.getId());
+			}
+		}
+
+		for (int nodeId : reachable)
+		{
+			int[] path = paths.getPath(nodeId);
+			assertEquals(source.getId(), path[0], "getPath: Did not start at the starting node");
+			assertEquals(nodeId, path[path.length - 1], "getPath: Did not end at the target");
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.model.CsrGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LandmarkHeuristicTest
+{
+	private List<Node> nodes;
+	private CsrGraph graph;
+
+	@BeforeEach
+	void setUp()
+	{
+		Random rand = new Random(3);
+		nodes = new LinkedList<>();
+		List<Edge> edges = new LinkedList<>();
+
+		for (int i = 0; i < 300; i++)
+		{
+			nodes.add(new Node(i));
+		}
+
+		// a ring with random chords, so that landmarks on opposite sides give useful bounds
+		for (int i = 0; i < 300; i++)
+		{
+			edges.add(new Edge(nodes.get(i), nodes.get((i + 1) % 300), rand.nextInt(10) + 1));
+		}
+
+		for (int i = 0; i < 60; i++)
+		{
+			edges.add(new Edge(nodes.get(rand.nextInt(300)), nodes.get(rand.nextInt(300)), rand.nextInt(100) + 50));
+		}
+
+		graph = CsrGraph.of(nodes, edges);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testBuildInvalidCount()
+	{
+		assertThrows(IllegalArgumentException.class, () -> LandmarkHeuristic.build(graph, 0),
+				"build: Did not throw the expected exception");
+	}
+
+	@Test
+	void testEstimateIsAdmissible()
+	{
+		LandmarkHeuristic heuristic = LandmarkHeuristic.build(graph, 4);
+		CsrSearch search = new CsrSearch(graph);
+
+		assertEquals(4, heuristic.getNumOfLandmarks(), "getNumOfLandmarks: Did not return the expected output");
+
+		for (int source = 0; source < graph.size(); source += 7)
+		{
+			ShortestPaths expected = search.runWithHeap(source, -1);
+
+			for (int target = 0; target < graph.size(); target++)
+			{
+				assertTrue(heuristic.estimate(source, target) <= expected.getLValueAt(target),
+						"estimate: Overestimated the distance");
+			}
+		}
+	}
+
+	@Test
+	void testRunMatchesDijkstra()
+	{
+		Random rand = new Random(9);
+		AStar alt = new AStar(graph, LandmarkHeuristic.build(graph, 4));
+		AStar dijkstra = new AStar(graph, Heuristic.NONE);
+		int altSettled = 0;
+		int dijkstraSettled = 0;
+
+		for (int i = 0; i < 50; i++)
+		{
+			int source = graph.idOf(rand.nextInt(300));
+			int target = graph.idOf(rand.nextInt(300));
+
+			assertEquals(dijkstra.run(source, target), alt.run(source, target), "run: Did not return the expected output");
+
+			altSettled += alt.getSettledCount();
+			dijkstraSettled += dijkstra.getSettledCount();
+		}
+
+		assertTrue(altSettled < dijkstraSettled, "getSettledCount: Landmarks did not reduce the settled nodes");
+	}
+
+	@Test
+	void testSaveAndLoad(@TempDir Path directory) throws IOException
+	{
+		LandmarkHeuristic heuristic = LandmarkHeuristic.build(graph, 3);
+		Path path = directory.resolve("landmark_database.bin");
+
+		heuristic.save(path);
+		LandmarkHeuristic loaded = LandmarkHeuristic.load(path);
+
+		assertEquals(heuristic.getFingerprint(), loaded.getFingerprint(), "load: Did not return the expected output");
+		assertEquals(heuristic.getNumOfLandmarks(), loaded.getNumOfLandmarks(), "load: Did not return the expected output");
+
+		for (int i = 0; i < graph.size(); i += 11)
+		{
+			assertEquals(heuristic.estimate(i, 0), loaded.estimate(i, 0), "load: Did not return the expected output");
+		}
+	}
+}
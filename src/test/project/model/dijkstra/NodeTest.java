@@ -5,6 +5,10 @@ import javafx.scene.text.Text;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -169,6 +173,31 @@ class NodeTest
 		assertFalse(nodeA.isActive(), "setInactive: nodeA should not be active");
 	}
 
+	@Test
+	void testIdsStayUniqueWhileNodesAreLoaded() throws InterruptedException
+	{
+		Text label = new Text("Loaded");
+		Circle shape = new Circle();
+		Set<Integer> ids = new HashSet<>();
+		// a load on another thread keeps raising the counter to an id it has already passed
+		CountDownLatch started = new CountDownLatch(1);
+		Thread loader = new Thread(() -> {
+			started.countDown();
+			for (int i = 0; i < 200000; i++)
+			{
+				new Node(1, label, shape);
+			}
+		});
+
+		loader.start();
+		started.await();
+		for (int i = 0; i < 200000; i++)
+		{
+			assertTrue(ids.add(new Node("A").getId()), "Node: Handed out an id twice");
+		}
+		loader.join();
+	}
+
 	@Test
 	void testToString()
 	{
@@ -0,0 +1,208 @@
+package project.model.dijkstra;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.model.CsrGraph;
+import project.model.TestGraphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShortestPathServiceTest
+{
+	private static ExecutorService executor;
+	private CsrGraph graph;
+
+	@BeforeAll
+	static void setUpExecutor()
+	{
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterAll
+	static void tearDownExecutor()
+	{
+		executor.shutdown();
+	}
+
+	@BeforeEach
+	void setUp()
+	{
+		graph = TestGraphs.randomGraph(300, 1200, new Random(21));
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Node.resetId();
+		Edge.resetId();
+	}
+
+	@Test
+	void testSolve()
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.HEAP, 4);
+		CsrSearch search = new CsrSearch(graph);
+		int[] sourceIds = new int[50];
+
+		for (int i = 0; i < sourceIds.length; i++)
+		{
+			sourceIds[i] = graph.idOf((i * 37) % graph.size());
+		}
+
+		List<ShortestPaths> results = service.solve(sourceIds);
+
+		assertEquals(sourceIds.length, results.size(), "solve: Did not return the expected output");
+
+		for (int i = 0; i < sourceIds.length; i++)
+		{
+			assertEquals(sourceIds[i], results.get(i).getSourceId(), "solve: Did not keep the batch order");
+			assertArrayEquals(search.runWithHeap(graph.indexOf(sourceIds[i]), -1).getLValues(),
+					results.get(i).getLValues(), "solve: Did not return the expected output");
+		}
+	}
+
+	@Test
+	void testDistances()
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.BUCKET, 3);
+		CsrSearch search = new CsrSearch(graph);
+		Random rand = new Random(4);
+		int[] sourceIds = new int[100];
+		int[] targetIds = new int[100];
+
+		for (int i = 0; i < sourceIds.length; i++)
+		{
+			sourceIds[i] = graph.idOf(rand.nextInt(graph.size()));
+			targetIds[i] = graph.idOf(rand.nextInt(graph.size()));
+		}
+
+		int[] distances = service.distances(sourceIds, targetIds);
+
+		for (int i = 0; i < sourceIds.length; i++)
+		{
+			assertEquals(search.runWithHeap(graph.indexOf(sourceIds[i]), -1).getLValue(targetIds[i]), distances[i],
+					"distances: Did not return the expected output");
+		}
+	}
+
+	@Test
+	void testSearchesArePooled() throws InterruptedException
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.HEAP, 2);
+		int[] sourceIds = {graph.idOf(0), graph.idOf(1), graph.idOf(2), graph.idOf(3)};
+
+		// a chunk that starts after another one finished takes over its search
+		service.solve(sourceIds);
+		int idle = service.getNumOfIdleSearches();
+		assertTrue(idle == 1 || idle == 2, "solve: Did not keep the searches for the next batch");
+
+		// overlapping batches may need more searches at once, but only parallelism of them are kept
+		List<Thread> callers = new ArrayList<>();
+		for (int i = 0; i < 4; i++)
+		{
+			callers.add(new Thread(() -> service.distances(sourceIds, sourceIds)));
+		}
+		for (Thread caller : callers)
+		{
+			caller.start();
+		}
+		for (Thread caller : callers)
+		{
+			caller.join();
+		}
+
+		assertTrue(service.getNumOfIdleSearches() <= 2, "distances: Kept more searches than the parallelism");
+	}
+
+	@Test
+	void testSearchReusedAcrossQueries()
+	{
+		CsrSearch reused = new CsrSearch(graph);
+		Random rand = new Random(9);
+
+		for (Engine engine : Engine.values())
+		{
+			for (int i = 0; i < 50; i++)
+			{
+				int source = rand.nextInt(graph.size());
+				int target = rand.nextInt(graph.size());
+				CsrSearch fresh = new CsrSearch(graph);
+
+				assertEquals(fresh.distance(source, target, engine), reused.distance(source, target, engine),
+						"distance: Did not return the expected output");
+				assertArrayEquals(fresh.run(source, engine).getLValues(), reused.run(source, engine).getLValues(),
+						"run: Did not return the expected output");
+			}
+		}
+	}
+
+	@Test
+	void testRunResultsOutliveTheNextQuery()
+	{
+		CsrSearch search = new CsrSearch(graph);
+		ShortestPaths first = search.run(0, Engine.HEAP);
+		int[] lValues = first.getLValues().clone();
+
+		search.run(1, Engine.HEAP);
+
+		assertArrayEquals(lValues, first.getLValues(), "run: Did not return the expected output");
+	}
+
+	@Test
+	void testSolveAll()
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.HEAP, 3);
+		CsrSearch search = new CsrSearch(graph);
+		int[] distances = new int[graph.size() * graph.size()];
+
+		service.solveAll(distances);
+
+		for (int from = 0; from < graph.size(); from++)
+		{
+			assertArrayEquals(search.runWithHeap(from, -1).getLValues(),
+					Arrays.copyOfRange(distances, from * graph.size(), (from + 1) * graph.size()),
+					"solveAll: Did not return the expected output");
+		}
+		assertThrows(IllegalArgumentException.class, () -> service.solveAll(new int[graph.size()]),
+				"solveAll: Did not throw the expected exception");
+	}
+
+	@Test
+	void testSolveEmptyBatch()
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.HEAP, 4);
+
+		assertEquals(0, service.solve(new int[0]).size(), "solve: Did not return the expected output");
+	}
+
+	@Test
+	void testSolveInvalidNode()
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.HEAP, 4);
+
+		assertThrows(IllegalArgumentException.class, () -> service.solve(new int[]{graph.idOf(0), -5}),
+				"solve: Did not throw the expected exception");
+	}
+
+	@Test
+	void testDistancesMismatchedBatch()
+	{
+		ShortestPathService service = new ShortestPathService(graph, executor, Engine.HEAP, 4);
+
+		assertThrows(IllegalArgumentException.class, () -> service.distances(new int[]{graph.idOf(0)}, new int[0]),
+				"distances: Did not throw the expected exception");
+	}
+}